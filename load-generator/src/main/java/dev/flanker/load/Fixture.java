@@ -0,0 +1,55 @@
+package dev.flanker.load;
+
+import dev.flanker.alg.UnsignedInt;
+import dev.flanker.asym.RabinCryptosystem;
+import dev.flanker.asym.domain.RabinCiphertext;
+import dev.flanker.asym.domain.RabinKeyContext;
+import dev.flanker.asym.domain.RabinParameters;
+
+final class Fixture {
+    private static final int MESSAGE_BITS = 64;
+
+    private final int bits;
+    private final RabinParameters parameters;
+    private final RabinKeyContext context;
+    private final UnsignedInt message;
+    private final RabinCiphertext ciphertext;
+    private final UnsignedInt signature;
+
+    private Fixture(int bits, RabinCryptosystem cryptosystem) {
+        this.bits = bits;
+        this.parameters = cryptosystem.generateKeys(bits);
+        this.context = RabinKeyContext.of(parameters.getPrivateKey());
+        this.message = UnsignedInt.random(MESSAGE_BITS);
+        this.ciphertext = cryptosystem.encrypt(message, parameters.getPublicKey());
+        this.signature = cryptosystem.sign(message, context);
+    }
+
+    static Fixture create(int bits, RabinCryptosystem cryptosystem) {
+        return new Fixture(bits, cryptosystem);
+    }
+
+    int getBits() {
+        return bits;
+    }
+
+    RabinParameters getParameters() {
+        return parameters;
+    }
+
+    RabinKeyContext getContext() {
+        return context;
+    }
+
+    UnsignedInt getMessage() {
+        return message;
+    }
+
+    RabinCiphertext getCiphertext() {
+        return ciphertext;
+    }
+
+    UnsignedInt getSignature() {
+        return signature;
+    }
+}
@@ -0,0 +1,181 @@
+package dev.flanker.load;
+
+import dev.flanker.alg.UnsignedInt;
+import dev.flanker.asym.RabinCryptosystem;
+import dev.flanker.rand.BbsRandom;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public final class LoadGenerator {
+    private static final UnsignedInt P = UnsignedInt.valueOf("d5bbb96d30086ec484eba3d7f9caeb07");
+    private static final UnsignedInt Q = UnsignedInt.valueOf("425d2b9bfdb25b9cf6c416cc6e37b59c1f");
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double NANOS_PER_MICRO = 1_000.0;
+
+    private final List<Operation> operations;
+    private final List<Integer> keySizes;
+    private final int threads;
+    private final boolean virtual;
+    private final double rate;
+    private final long warmupNanos;
+    private final long durationNanos;
+
+    private volatile int sink;
+
+    private LoadGenerator(Map<String, String> options) {
+        this.operations = new ArrayList<>();
+        for (String operation : options.getOrDefault("operations", "encrypt,decrypt,sign,verify").split(",")) {
+            operations.add(Operation.valueOf(operation.trim().toUpperCase()));
+        }
+        this.keySizes = new ArrayList<>();
+        for (String bits : options.getOrDefault("bits", "512").split(",")) {
+            keySizes.add(Integer.parseInt(bits.trim()));
+        }
+        this.threads = Integer.parseInt(options.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        this.virtual = Boolean.parseBoolean(options.getOrDefault("virtual", "false"));
+        this.rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+        this.warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("warmup", "5")));
+        this.durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("duration", "30")));
+
+        if (threads <= 0 || rate < 0) {
+            throw new IllegalArgumentException("Threads must be positive and rate must not be negative");
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                usage();
+                return;
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        if (options.containsKey("help")) {
+            usage();
+            return;
+        }
+        new LoadGenerator(options).run();
+    }
+
+    private void run() throws InterruptedException {
+        ThreadFactory factory = virtual ? virtualThreadFactory() : Thread::new;
+
+        System.out.printf("threads=%d virtual=%b mode=%s%n",
+                threads, virtual, rate > 0 ? String.format("fixed rate %.1f ops/s", rate) : "closed loop");
+        System.out.printf("%-8s %6s %10s %12s %10s %10s %10s %10s%n",
+                "op", "bits", "count", "ops/s", "p50 us", "p99 us", "p999 us", "max us");
+
+        for (int bits : keySizes) {
+            Fixture fixture = Fixture.create(bits, newCryptosystem());
+            for (Operation operation : operations) {
+                execute(operation, fixture, factory, warmupNanos);
+                Histogram histogram = execute(operation, fixture, factory, durationNanos);
+                report(operation, bits, histogram);
+            }
+        }
+    }
+
+    private Histogram execute(Operation operation, Fixture fixture, ThreadFactory factory, long duration)
+            throws InterruptedException {
+        Histogram[] histograms = new Histogram[threads];
+        Thread[] workers = new Thread[threads];
+
+        long interval = rate > 0 ? (long) (threads * TimeUnit.SECONDS.toNanos(1) / rate) : 0;
+        long start = System.nanoTime();
+        long deadline = start + duration;
+
+        for (int i = 0; i < threads; i++) {
+            int index = i;
+            histograms[i] = new Histogram(SIGNIFICANT_DIGITS);
+            workers[i] = factory.newThread(() -> {
+                RabinCryptosystem cryptosystem = newCryptosystem();
+                long intended = start + index * interval / threads;
+                int hash = 0;
+                while (true) {
+                    long begin;
+                    if (interval > 0) {
+                        // Latency is measured from the intended start, so stalls are not hidden
+                        long now;
+                        while ((now = System.nanoTime()) < intended) {
+                            LockSupport.parkNanos(intended - now);
+                        }
+                        begin = intended;
+                        intended += interval;
+                    } else {
+                        begin = System.nanoTime();
+                    }
+                    if (begin >= deadline) {
+                        break;
+                    }
+
+                    hash ^= operation.execute(cryptosystem, fixture).hashCode();
+                    histograms[index].recordValue(System.nanoTime() - begin);
+                }
+                sink = hash;
+            });
+            workers[i].start();
+        }
+
+        Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        for (int i = 0; i < threads; i++) {
+            workers[i].join();
+            total.add(histograms[i]);
+        }
+        total.setStartTimeStamp(TimeUnit.NANOSECONDS.toMillis(start));
+        total.setEndTimeStamp(TimeUnit.NANOSECONDS.toMillis(System.nanoTime()));
+        return total;
+    }
+
+    private void report(Operation operation, int bits, Histogram histogram) {
+        double seconds = (histogram.getEndTimeStamp() - histogram.getStartTimeStamp()) / 1_000.0;
+        System.out.printf("%-8s %6d %10d %12.1f %10.1f %10.1f %10.1f %10.1f%n",
+                operation.name().toLowerCase(),
+                bits,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50.0) / NANOS_PER_MICRO,
+                histogram.getValueAtPercentile(99.0) / NANOS_PER_MICRO,
+                histogram.getValueAtPercentile(99.9) / NANOS_PER_MICRO,
+                histogram.getMaxValue() / NANOS_PER_MICRO
+        );
+    }
+
+    private static RabinCryptosystem newCryptosystem() {
+        return new RabinCryptosystem(BbsRandom.create(P, Q, UnsignedInt.random(256)));
+    }
+
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this JVM", e);
+        }
+    }
+
+    private static void usage() {
+        System.out.println("Usage: load-generator [options]");
+        System.out.println("  --operations=encrypt,decrypt,sign,verify  operations to drive");
+        System.out.println("  --bits=512,1024                           key sizes");
+        System.out.println("  --threads=N                               number of worker threads");
+        System.out.println("  --virtual                                 run workers on virtual threads");
+        System.out.println("  --rate=R                                  target ops/s in total, 0 for closed loop");
+        System.out.println("  --warmup=S                                warmup seconds per operation");
+        System.out.println("  --duration=S                              measured seconds per operation");
+    }
+}
@@ -0,0 +1,32 @@
+package dev.flanker.load;
+
+import dev.flanker.asym.RabinCryptosystem;
+
+enum Operation {
+    ENCRYPT {
+        @Override
+        Object execute(RabinCryptosystem cryptosystem, Fixture fixture) {
+            return cryptosystem.encrypt(fixture.getMessage(), fixture.getParameters().getPublicKey());
+        }
+    },
+    DECRYPT {
+        @Override
+        Object execute(RabinCryptosystem cryptosystem, Fixture fixture) {
+            return cryptosystem.decrypt(fixture.getCiphertext(), fixture.getContext());
+        }
+    },
+    SIGN {
+        @Override
+        Object execute(RabinCryptosystem cryptosystem, Fixture fixture) {
+            return cryptosystem.sign(fixture.getMessage(), fixture.getContext());
+        }
+    },
+    VERIFY {
+        @Override
+        Object execute(RabinCryptosystem cryptosystem, Fixture fixture) {
+            return cryptosystem.verify(fixture.getMessage(), fixture.getSignature(), fixture.getParameters().getPublicKey());
+        }
+    };
+
+    abstract Object execute(RabinCryptosystem cryptosystem, Fixture fixture);
+}
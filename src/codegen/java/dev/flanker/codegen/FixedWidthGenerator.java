@@ -0,0 +1,417 @@
+package dev.flanker.codegen;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public final class FixedWidthGenerator {
+    private static final String PACKAGE = "dev.flanker.alg";
+    private static final int BASE = 32;
+
+    // Fully unrolled N x N products stay well under the JIT's 8000 byte HugeMethodLimit only for small N,
+    // wider kernels keep the outer loop and unroll each row
+    private static final int FULL_UNROLL_LIMBS = 8;
+
+    private final int bits;
+    private final int limbs;
+    private final String name;
+    private final StringBuilder out = new StringBuilder();
+    private int indent;
+
+    private FixedWidthGenerator(int bits) {
+        if (bits <= 0 || bits % BASE != 0) {
+            throw new IllegalArgumentException("Width must be a positive multiple of " + BASE + ": " + bits);
+        }
+        this.bits = bits;
+        this.limbs = bits / BASE;
+        this.name = "UInt" + bits;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: FixedWidthGenerator <output directory> <bits>...");
+            System.exit(1);
+        }
+        Path directory = Paths.get(args[0]).resolve(PACKAGE.replace('.', '/'));
+        Files.createDirectories(directory);
+        for (int i = 1; i < args.length; i++) {
+            FixedWidthGenerator generator = new FixedWidthGenerator(Integer.parseInt(args[i]));
+            Path file = directory.resolve(generator.name + ".java");
+            Files.write(file, generator.generate().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private boolean fullyUnrolled() {
+        return limbs <= FULL_UNROLL_LIMBS;
+    }
+
+    private String generate() {
+        line("// Generated by " + FixedWidthGenerator.class.getSimpleName() + ", do not edit");
+        line("package " + PACKAGE + ";");
+        line();
+        line("import java.util.Arrays;");
+        line();
+        open("public final class " + name + " implements Comparable<" + name + ">");
+        line("public static final int BITS = " + bits + ";");
+        line("static final int LIMBS = " + limbs + ";");
+        line();
+        line("private static final long MASK = 0xffffffffL;");
+        line();
+        line("public static final " + name + " ZERO = new " + name + "(new int[LIMBS]);");
+        line();
+        line("private final int[] limbs;");
+        line();
+        open("private " + name + "(int[] limbs)");
+        line("this.limbs = limbs;");
+        close();
+        line();
+
+        publicApi();
+        line();
+        line();
+        line("// <======================= Kernels =======================>");
+        line();
+        line();
+        addKernel();
+        line();
+        subtractKernel();
+        line();
+        compareKernel();
+        line();
+        multiplyKernel();
+        line();
+        squareKernel();
+        line();
+        reduceKernel();
+        line();
+        inverseKernel();
+        line();
+        montgomery();
+        close();
+        return out.toString();
+    }
+
+
+    // <======================= Public API =======================>
+
+
+    private void publicApi() {
+        open("public static " + name + " of(UnsignedInt number)");
+        line("int[] digits = number.toIntArray();");
+        open("if (digits.length > LIMBS)");
+        line("throw new IllegalArgumentException(\"Number does not fit into \" + BITS + \" bits\");");
+        close();
+        line("return new " + name + "(Arrays.copyOf(digits, LIMBS));");
+        close();
+        line();
+        open("public UnsignedInt toUnsignedInt()");
+        line("return UnsignedInt.valueOf(limbs);");
+        close();
+        line();
+        line("// Wraps modulo 2^BITS, like int arithmetic");
+        open("public " + name + " add(" + name + " that)");
+        line("int[] result = new int[LIMBS];");
+        line("add(limbs, that.limbs, result);");
+        line("return new " + name + "(result);");
+        close();
+        line();
+        open("public " + name + " subtract(" + name + " that)");
+        line("int[] result = new int[LIMBS];");
+        line("subtract(limbs, that.limbs, result);");
+        line("return new " + name + "(result);");
+        close();
+        line();
+        line("@Override");
+        open("public int compareTo(" + name + " that)");
+        line("return compare(limbs, that.limbs);");
+        close();
+        line();
+        line("@Override");
+        open("public boolean equals(Object o)");
+        line("return this == o || (o instanceof " + name + " && Arrays.equals(limbs, ((" + name + ") o).limbs));");
+        close();
+        line();
+        line("@Override");
+        open("public int hashCode()");
+        line("return Arrays.hashCode(limbs);");
+        close();
+        line();
+        line("@Override");
+        open("public String toString()");
+        line("return toUnsignedInt().toString();");
+        close();
+    }
+
+
+    // <======================= Kernels =======================>
+
+
+    private void addKernel() {
+        open("static int add(int[] x, int[] y, int[] result)");
+        line("long sum = 0;");
+        for (int i = 0; i < limbs; i++) {
+            line("sum = (x[" + i + "] & MASK) + (y[" + i + "] & MASK) + (sum >>> 32);");
+            line("result[" + i + "] = (int) sum;");
+        }
+        line("return (int) (sum >>> 32);");
+        close();
+    }
+
+    private void subtractKernel() {
+        open("static int subtract(int[] x, int[] y, int[] result)");
+        line("long difference = 0;");
+        for (int i = 0; i < limbs; i++) {
+            line("difference = (x[" + i + "] & MASK) - (y[" + i + "] & MASK) + (difference >> 32);");
+            line("result[" + i + "] = (int) difference;");
+        }
+        line("return (int) -(difference >> 32);");
+        close();
+    }
+
+    private void compareKernel() {
+        open("static int compare(int[] x, int[] y)");
+        for (int i = limbs - 1; i >= 0; i--) {
+            open("if (x[" + i + "] != y[" + i + "])");
+            line("return Integer.compareUnsigned(x[" + i + "], y[" + i + "]);");
+            close();
+        }
+        line("return 0;");
+        close();
+    }
+
+    // result[0 .. 2 * LIMBS) = x * y, row by row with the operand limbs held in locals
+    private void multiplyKernel() {
+        open("static void multiply(int[] x, int[] y, int[] result)");
+        loadLimbs("x", "x");
+        line("Arrays.fill(result, 0, 2 * LIMBS, 0);");
+        line("long product;");
+        if (fullyUnrolled()) {
+            for (int i = 0; i < limbs; i++) {
+                line("long y" + i + " = y[" + i + "] & MASK;");
+                multiplyRow(String.valueOf(i), "y" + i, i);
+            }
+        } else {
+            open("for (int i = 0; i < LIMBS; i++)");
+            line("long yi = y[i] & MASK;");
+            multiplyRow("i", "yi", -1);
+            close();
+        }
+        close();
+    }
+
+    private void multiplyRow(String row, String multiplier, int constantRow) {
+        line("product = 0;");
+        for (int j = 0; j < limbs; j++) {
+            String index = index(row, constantRow, j);
+            line("product = (result[" + index + "] & MASK) + x" + j + " * " + multiplier + " + (product >>> 32);");
+            line("result[" + index + "] = (int) product;");
+        }
+        line("result[" + index(row, constantRow, limbs) + "] = (int) (product >>> 32);");
+    }
+
+    // Small widths only compute each cross product once, wider ones fall back to the row multiply
+    private void squareKernel() {
+        open("static void square(int[] x, int[] result)");
+        if (!fullyUnrolled()) {
+            line("multiply(x, x, result);");
+            close();
+            return;
+        }
+        loadLimbs("x", "x");
+        line("Arrays.fill(result, 0, 2 * LIMBS, 0);");
+        line("long product;");
+        for (int i = 0; i < limbs - 1; i++) {
+            line("product = 0;");
+            for (int j = i + 1; j < limbs; j++) {
+                line("product = (result[" + (i + j) + "] & MASK) + x" + i + " * x" + j + " + (product >>> 32);");
+                line("result[" + (i + j) + "] = (int) product;");
+            }
+            line("result[" + (i + limbs) + "] = (int) (product >>> 32);");
+        }
+        for (int k = 2 * limbs - 1; k > 0; k--) {
+            line("result[" + k + "] = (result[" + k + "] << 1) | (result[" + (k - 1) + "] >>> 31);");
+        }
+        line("result[0] <<= 1;");
+        line("long carry = 0;");
+        for (int i = 0; i < limbs; i++) {
+            line("product = x" + i + " * x" + i + ";");
+            line("carry = (result[" + (2 * i) + "] & MASK) + (product & MASK) + (carry >>> 32);");
+            line("result[" + (2 * i) + "] = (int) carry;");
+            line("carry = (result[" + (2 * i + 1) + "] & MASK) + (product >>> 32) + (carry >>> 32);");
+            line("result[" + (2 * i + 1) + "] = (int) carry;");
+        }
+        close();
+    }
+
+    // Montgomery reduction: result = t / 2^BITS mod n for t < n * 2^BITS, t has 2 * LIMBS + 1 limbs and is destroyed
+    private void reduceKernel() {
+        open("static void reduce(int[] t, int[] n, int nInverse, int[] result)");
+        loadLimbs("n", "n");
+        line("t[2 * LIMBS] = 0;");
+        line("long product;");
+        open("for (int i = 0; i < LIMBS; i++)");
+        line("long m = (t[i] * nInverse) & MASK;");
+        line("product = 0;");
+        for (int j = 0; j < limbs; j++) {
+            String index = index("i", -1, j);
+            line("product = (t[" + index + "] & MASK) + m * n" + j + " + (product >>> 32);");
+            line("t[" + index + "] = (int) product;");
+        }
+        line("product >>>= 32;");
+        open("for (int k = i + LIMBS; product != 0; k++)");
+        line("product += t[k] & MASK;");
+        line("t[k] = (int) product;");
+        line("product >>>= 32;");
+        close();
+        close();
+        line("System.arraycopy(t, LIMBS, result, 0, LIMBS);");
+        open("if (t[2 * LIMBS] != 0 || compare(result, n) >= 0)");
+        line("subtract(result, n, result);");
+        close();
+        close();
+    }
+
+    // -n^-1 mod 2^32 by Newton iteration, each step doubles the number of correct low bits
+    private void inverseKernel() {
+        open("static int negativeInverse(int n)");
+        line("int inverse = n;");
+        open("for (int i = 0; i < 4; i++)");
+        line("inverse *= 2 - n * inverse;");
+        close();
+        line("return -inverse;");
+        close();
+    }
+
+    private void montgomery() {
+        open("public static final class Montgomery");
+        line("private final int[] n;");
+        line("private final int nInverse;");
+        line("private final int[] rSquare;");
+        line();
+        open("private Montgomery(int[] n)");
+        line("this.n = n;");
+        line("this.nInverse = " + name + ".negativeInverse(n[0]);");
+        line();
+        line("// 2^BITS mod n is the two's complement of n reduced once, doubling it BITS times gives 2^(2 * BITS) mod n");
+        line("int[] r = new int[LIMBS];");
+        line(name + ".subtract(r, n, r);");
+        line("r = " + name + ".of(UnsignedInt.valueOf(r).mod(UnsignedInt.valueOf(n))).limbs;");
+        open("for (int i = 0; i < BITS; i++)");
+        open("if (" + name + ".add(r, r, r) != 0 || " + name + ".compare(r, n) >= 0)");
+        line(name + ".subtract(r, n, r);");
+        close();
+        close();
+        line("this.rSquare = r;");
+        close();
+        line();
+        open("public static Montgomery of(UnsignedInt n)");
+        open("if (n.getBit(0) == 0 || n.compareTo(UnsignedInt.ONE) <= 0)");
+        line("throw new IllegalArgumentException(\"Montgomery modulus must be odd and greater than one\");");
+        close();
+        line("return new Montgomery(" + name + ".of(n).limbs);");
+        close();
+        line();
+        line("// Operands may be any value below 2^BITS, results are fully reduced");
+        open("public UnsignedInt multiply(UnsignedInt x, UnsignedInt y)");
+        line("int[] product = new int[2 * LIMBS + 1];");
+        line("int[] result = toMontgomery(" + name + ".of(x).limbs, product);");
+        line(name + ".multiply(result, " + name + ".of(y).limbs, product);");
+        line(name + ".reduce(product, n, nInverse, result);");
+        line("return UnsignedInt.valueOf(result);");
+        close();
+        line();
+        open("public UnsignedInt square(UnsignedInt x)");
+        line("return multiply(x, x);");
+        close();
+        line();
+        open("public UnsignedInt pow(UnsignedInt x, UnsignedInt exponent)");
+        line("return pow(x, RecodedExponent.of(exponent));");
+        close();
+        line();
+        open("public UnsignedInt pow(UnsignedInt x, RecodedExponent exponent)");
+        line("int[] product = new int[2 * LIMBS + 1];");
+        line("int[] result = toMontgomery(new int[]{1}, product);");
+        open("if (exponent.windowCount() > 0)");
+        line("int[] base = toMontgomery(" + name + ".of(x).limbs, product);");
+        line("int[][] powers = new int[1 << (exponent.getWidth() - 1)][];");
+        line("powers[0] = base;");
+        open("if (powers.length > 1)");
+        line("int[] baseSquare = new int[LIMBS];");
+        line(name + ".square(base, product);");
+        line(name + ".reduce(product, n, nInverse, baseSquare);");
+        open("for (int i = 1; i < powers.length; i++)");
+        line("powers[i] = new int[LIMBS];");
+        line(name + ".multiply(powers[i - 1], baseSquare, product);");
+        line(name + ".reduce(product, n, nInverse, powers[i]);");
+        close();
+        close();
+        line();
+        line("System.arraycopy(powers[exponent.window(0) >>> 1], 0, result, 0, LIMBS);");
+        open("for (int i = 1; i < exponent.windowCount(); i++)");
+        open("for (int k = exponent.squarings(i); k > 0; k--)");
+        line(name + ".square(result, product);");
+        line(name + ".reduce(product, n, nInverse, result);");
+        close();
+        line(name + ".multiply(result, powers[exponent.window(i) >>> 1], product);");
+        line(name + ".reduce(product, n, nInverse, result);");
+        close();
+        open("for (int k = exponent.trailingSquarings(); k > 0; k--)");
+        line(name + ".square(result, product);");
+        line(name + ".reduce(product, n, nInverse, result);");
+        close();
+        close();
+        line("Arrays.fill(product, 0);");
+        line("System.arraycopy(result, 0, product, 0, LIMBS);");
+        line(name + ".reduce(product, n, nInverse, result);");
+        line("return UnsignedInt.valueOf(result);");
+        close();
+        line();
+        open("private int[] toMontgomery(int[] x, int[] product)");
+        line("int[] result = new int[LIMBS];");
+        line(name + ".multiply(x.length == LIMBS ? x : Arrays.copyOf(x, LIMBS), rSquare, product);");
+        line(name + ".reduce(product, n, nInverse, result);");
+        line("return result;");
+        close();
+        close();
+    }
+
+
+    // <======================= Emitter =======================>
+
+
+    private void loadLimbs(String array, String prefix) {
+        for (int i = 0; i < limbs; i++) {
+            line("long " + prefix + i + " = " + array + "[" + i + "] & MASK;");
+        }
+    }
+
+    private static String index(String row, int constantRow, int offset) {
+        if (constantRow >= 0) {
+            return String.valueOf(constantRow + offset);
+        }
+        return offset == 0 ? row : row + " + " + offset;
+    }
+
+    private void open(String declaration) {
+        line(declaration + " {");
+        indent++;
+    }
+
+    private void close() {
+        indent--;
+        line("}");
+    }
+
+    private void line() {
+        out.append('\n');
+    }
+
+    private void line(String text) {
+        for (int i = 0; i < indent; i++) {
+            out.append("    ");
+        }
+        out.append(text).append('\n');
+    }
+}
@@ -0,0 +1,81 @@
+package dev.flanker.alg;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Same operands through each backend, conversions included, to pick the engine for a platform
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ArithmeticBackendBenchmark {
+    @Param({"native", "biginteger"})
+    private String backendName;
+
+    @Param({"512", "1024", "2048"})
+    private int bits;
+
+    private ArithmeticBackend backend;
+
+    private UnsignedInt x;
+    private UnsignedInt y;
+    private UnsignedInt n;
+    private UnsignedInt p;
+
+    @Setup
+    public void setup() {
+        backend = backendName.equals(ArithmeticBackend.NATIVE.name()) ? ArithmeticBackend.NATIVE : ArithmeticBackend.BIG_INTEGER;
+
+        Random random = new Random(bits);
+        BigInteger bn = new BigInteger(bits, random).setBit(bits - 1).setBit(0);
+        x = UnsignedInt.valueOf(new BigInteger(bits, random).mod(bn).toString(16));
+        y = UnsignedInt.valueOf(new BigInteger(bits, random).mod(bn).toString(16));
+        n = UnsignedInt.valueOf(bn.toString(16));
+        p = UnsignedInt.valueOf(BigInteger.probablePrime(bits, random).toString(16));
+    }
+
+    @Benchmark
+    public UnsignedInt multiply() {
+        return backend.multiply(x, y);
+    }
+
+    @Benchmark
+    public UnsignedInt multiplyMod() {
+        return backend.multiply(x, y, n);
+    }
+
+    @Benchmark
+    public UnsignedInt mod() {
+        return backend.mod(x.multiply(y), n);
+    }
+
+    @Benchmark
+    public UnsignedInt pow() {
+        return backend.pow(x, y, n);
+    }
+
+    @Benchmark
+    public UnsignedInt modInverse() {
+        return backend.modInverse(x, p);
+    }
+
+    @Benchmark
+    public UnsignedInt gcd() {
+        return backend.gcd(x, y);
+    }
+}
@@ -0,0 +1,98 @@
+package dev.flanker.alg;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ParallelMultiplierBenchmark {
+    @Param({"8192", "16384", "32768", "65536"})
+    private int bits;
+
+    private int[] x;
+    private int[] y;
+    private BigInteger bx;
+    private BigInteger by;
+
+    private ParallelMultiplier parallel;
+    private ParallelMultiplier sequential;
+    private MethodHandle parallelMultiply;
+
+    @Setup
+    public void setup() throws IllegalAccessException {
+        Random random = new Random(bits);
+        bx = new BigInteger(bits, random).setBit(bits - 1);
+        by = new BigInteger(bits, random).setBit(bits - 1);
+        x = limbs(bx);
+        y = limbs(by);
+
+        parallel = ParallelMultiplier.create();
+        sequential = ParallelMultiplier.create(ForkJoinPool.commonPool(),
+                ParallelMultiplier.DEFAULT_TOOM_THRESHOLD, Integer.MAX_VALUE);
+
+        // BigInteger.parallelMultiply only exists from JDK 19 on
+        try {
+            parallelMultiply = MethodHandles.publicLookup().findVirtual(BigInteger.class, "parallelMultiply",
+                    MethodType.methodType(BigInteger.class, BigInteger.class));
+        } catch (NoSuchMethodException e) {
+            parallelMultiply = null;
+        }
+    }
+
+    @Benchmark
+    public int[] parallelToomCook3() {
+        return parallel.multiply(x, y);
+    }
+
+    @Benchmark
+    public int[] sequentialToomCook3() {
+        return sequential.multiply(x, y);
+    }
+
+    @Benchmark
+    public int[] schoolbook() {
+        return ParallelMultiplier.schoolbook(x, y);
+    }
+
+    @Benchmark
+    public BigInteger bigIntegerMultiply() {
+        return bx.multiply(by);
+    }
+
+    @Benchmark
+    public BigInteger bigIntegerParallelMultiply() throws Throwable {
+        if (parallelMultiply == null) {
+            throw new UnsupportedOperationException("BigInteger.parallelMultiply needs JDK 19+");
+        }
+        return (BigInteger) parallelMultiply.invokeExact(bx, by);
+    }
+
+    private static int[] limbs(BigInteger number) {
+        int[] limbs = new int[(number.bitLength() + 31) / 32];
+        for (int i = 0; i < limbs.length; i++) {
+            limbs[i] = number.shiftRight(32 * i).intValue();
+        }
+        return limbs;
+    }
+}
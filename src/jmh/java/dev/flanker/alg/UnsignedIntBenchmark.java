@@ -0,0 +1,226 @@
+package dev.flanker.alg;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UnsignedIntBenchmark {
+    private static final int SHIFT = 67;
+
+    @Param({"256", "512", "1024", "2048"})
+    private int bits;
+
+    private UnsignedInt x;
+    private UnsignedInt y;
+    private UnsignedInt n;
+    private UnsignedInt p;
+    private UnsignedInt half;
+    private String hex;
+    private BinaryOperator<UnsignedInt> fixedWidthPow;
+
+    private BigInteger bx;
+    private BigInteger by;
+    private BigInteger bn;
+    private BigInteger bp;
+    private BigInteger bHalf;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(bits);
+
+        bn = new BigInteger(bits, random).setBit(bits - 1).setBit(0);
+        bx = new BigInteger(bits, random).mod(bn);
+        by = new BigInteger(bits, random).mod(bn);
+        bp = BigInteger.probablePrime(bits, random);
+        bHalf = new BigInteger(bits / 2, random).setBit(bits / 2 - 1);
+
+        x = UnsignedInt.valueOf(bx.toString(16));
+        y = UnsignedInt.valueOf(by.toString(16));
+        n = UnsignedInt.valueOf(bn.toString(16));
+        p = UnsignedInt.valueOf(bp.toString(16));
+        half = UnsignedInt.valueOf(bHalf.toString(16));
+        hex = bx.toString(16);
+        fixedWidthPow = fixedWidthPow(bits, n);
+    }
+
+
+    // <======================= UnsignedInt =======================>
+
+
+    @Benchmark
+    public UnsignedInt add() {
+        return x.add(y);
+    }
+
+    @Benchmark
+    public UnsignedInt addMod() {
+        return x.add(y, n);
+    }
+
+    @Benchmark
+    public UnsignedInt multiply() {
+        return x.multiply(y);
+    }
+
+    @Benchmark
+    public UnsignedInt multiplyMod() {
+        return x.multiply(y, n);
+    }
+
+    @Benchmark
+    public UnsignedInt sqr() {
+        return x.sqr(n);
+    }
+
+    @Benchmark
+    public UnsignedInt mod() {
+        return x.mod(half);
+    }
+
+    @Benchmark
+    public UnsignedInt pow() {
+        return x.pow(y, n);
+    }
+
+    @Benchmark
+    public UnsignedInt modInverse() {
+        return x.modInverse(p);
+    }
+
+    @Benchmark
+    public UnsignedInt gcd() {
+        return x.gcd(y);
+    }
+
+    @Benchmark
+    public UnsignedInt shiftLeft() {
+        return x.shiftLeft(SHIFT);
+    }
+
+    @Benchmark
+    public UnsignedInt shiftRight() {
+        return x.shiftRight(SHIFT);
+    }
+
+    @Benchmark
+    public UnsignedInt parse() {
+        return UnsignedInt.valueOf(hex);
+    }
+
+    @Benchmark
+    public String print() {
+        return x.toString();
+    }
+
+
+    // <======================= Fixed width =======================>
+
+
+    @Benchmark
+    public UnsignedInt fixedWidthPow() {
+        return fixedWidthPow.apply(x, y);
+    }
+
+    private static BinaryOperator<UnsignedInt> fixedWidthPow(int bits, UnsignedInt n) {
+        switch (bits) {
+            case UInt256.BITS:
+                return UInt256.Montgomery.of(n)::pow;
+            case UInt512.BITS:
+                return UInt512.Montgomery.of(n)::pow;
+            case UInt1024.BITS:
+                return UInt1024.Montgomery.of(n)::pow;
+            case UInt2048.BITS:
+                return UInt2048.Montgomery.of(n)::pow;
+            default:
+                throw new IllegalArgumentException("No fixed width class for " + bits + " bits");
+        }
+    }
+
+
+    // <======================= BigInteger =======================>
+
+
+    @Benchmark
+    public BigInteger bigIntegerAdd() {
+        return bx.add(by);
+    }
+
+    @Benchmark
+    public BigInteger bigIntegerAddMod() {
+        return bx.add(by).mod(bn);
+    }
+
+    @Benchmark
+    public BigInteger bigIntegerMultiply() {
+        return bx.multiply(by);
+    }
+
+    @Benchmark
+    public BigInteger bigIntegerMultiplyMod() {
+        return bx.multiply(by).mod(bn);
+    }
+
+    @Benchmark
+    public BigInteger bigIntegerSqr() {
+        return bx.multiply(bx).mod(bn);
+    }
+
+    @Benchmark
+    public BigInteger bigIntegerMod() {
+        return bx.mod(bHalf);
+    }
+
+    @Benchmark
+    public BigInteger bigIntegerPow() {
+        return bx.modPow(by, bn);
+    }
+
+    @Benchmark
+    public BigInteger bigIntegerModInverse() {
+        return bx.modInverse(bp);
+    }
+
+    @Benchmark
+    public BigInteger bigIntegerGcd() {
+        return bx.gcd(by);
+    }
+
+    @Benchmark
+    public BigInteger bigIntegerShiftLeft() {
+        return bx.shiftLeft(SHIFT);
+    }
+
+    @Benchmark
+    public BigInteger bigIntegerShiftRight() {
+        return bx.shiftRight(SHIFT);
+    }
+
+    @Benchmark
+    public BigInteger bigIntegerParse() {
+        return new BigInteger(hex, 16);
+    }
+
+    @Benchmark
+    public String bigIntegerPrint() {
+        return bx.toString(16);
+    }
+}
@@ -0,0 +1,116 @@
+package dev.flanker.asym;
+
+import dev.flanker.alg.UnsignedInt;
+import dev.flanker.asym.domain.RabinCiphertext;
+import dev.flanker.asym.domain.RabinParameters;
+import dev.flanker.asym.domain.RabinWilliamsSignature;
+import dev.flanker.rand.BbsRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RabinCryptosystemBenchmark {
+    private static final UnsignedInt P = UnsignedInt.valueOf("d5bbb96d30086ec484eba3d7f9caeb07");
+    private static final UnsignedInt Q = UnsignedInt.valueOf("425d2b9bfdb25b9cf6c416cc6e37b59c1f");
+
+    private static final int MESSAGE_BITS = 64;
+
+    @State(Scope.Benchmark)
+    public static class Keys {
+        @Param({"512", "1024", "2048"})
+        private int bits;
+
+        private RabinParameters parameters;
+        private UnsignedInt message;
+        private RabinCiphertext ciphertext;
+        private UnsignedInt signature;
+        private RabinWilliamsSignature williamsSignature;
+
+        @Setup
+        public void setup() {
+            RabinCryptosystem cryptosystem = newCryptosystem();
+            parameters = cryptosystem.generateKeys(bits);
+            message = UnsignedInt.random(MESSAGE_BITS);
+            ciphertext = cryptosystem.encrypt(message, parameters.getPublicKey());
+            signature = cryptosystem.sign(message, parameters.getPrivateKey());
+            williamsSignature = cryptosystem.signWilliams(message, parameters.getPrivateKey());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Worker {
+        private RabinCryptosystem cryptosystem;
+        private RabinCryptosystem concurrent;
+
+        @Setup
+        public void setup() {
+            cryptosystem = newCryptosystem();
+            concurrent = new RabinCryptosystem(BbsRandom.create(P, Q, UnsignedInt.random(256)), ForkJoinPool.commonPool());
+        }
+    }
+
+    @Benchmark
+    public RabinParameters generateKeys(Keys keys, Worker worker) {
+        return worker.cryptosystem.generateKeys(keys.bits);
+    }
+
+    @Benchmark
+    public RabinCiphertext encrypt(Keys keys, Worker worker) {
+        return worker.cryptosystem.encrypt(keys.message, keys.parameters.getPublicKey());
+    }
+
+    @Benchmark
+    public UnsignedInt decrypt(Keys keys, Worker worker) {
+        return worker.cryptosystem.decrypt(keys.ciphertext, keys.parameters.getPrivateKey());
+    }
+
+    @Benchmark
+    public UnsignedInt sign(Keys keys, Worker worker) {
+        return worker.cryptosystem.sign(keys.message, keys.parameters.getPrivateKey());
+    }
+
+    @Benchmark
+    public boolean verify(Keys keys, Worker worker) {
+        return worker.cryptosystem.verify(keys.message, keys.signature, keys.parameters.getPublicKey());
+    }
+
+    @Benchmark
+    public UnsignedInt concurrentDecrypt(Keys keys, Worker worker) {
+        return worker.concurrent.decrypt(keys.ciphertext, keys.parameters.getPrivateKey());
+    }
+
+    @Benchmark
+    public RabinWilliamsSignature concurrentSignWilliams(Keys keys, Worker worker) {
+        return worker.concurrent.signWilliams(keys.message, keys.parameters.getPrivateKey());
+    }
+
+    @Benchmark
+    public RabinWilliamsSignature signWilliams(Keys keys, Worker worker) {
+        return worker.cryptosystem.signWilliams(keys.message, keys.parameters.getPrivateKey());
+    }
+
+    @Benchmark
+    public boolean verifyWilliams(Keys keys, Worker worker) {
+        return worker.cryptosystem.verify(keys.message, keys.williamsSignature, keys.parameters.getPublicKey());
+    }
+
+    private static RabinCryptosystem newCryptosystem() {
+        return new RabinCryptosystem(BbsRandom.create(P, Q, UnsignedInt.random(256)));
+    }
+}
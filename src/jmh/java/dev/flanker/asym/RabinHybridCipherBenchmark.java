@@ -0,0 +1,97 @@
+package dev.flanker.asym;
+
+import dev.flanker.alg.UnsignedInt;
+import dev.flanker.asym.domain.RabinKeyContext;
+import dev.flanker.asym.domain.RabinParameters;
+import dev.flanker.rand.BbsRandom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Throughput in payloads of PAYLOAD_LENGTH bytes per second
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class RabinHybridCipherBenchmark {
+    private static final UnsignedInt P = UnsignedInt.valueOf("d5bbb96d30086ec484eba3d7f9caeb07");
+    private static final UnsignedInt Q = UnsignedInt.valueOf("425d2b9bfdb25b9cf6c416cc6e37b59c1f");
+
+    private static final int PAYLOAD_LENGTH = 1 << 20;
+
+    @Param({"AES_GCM", "CHACHA20_POLY1305"})
+    private RabinHybridCipher.Algorithm algorithm;
+
+    @Param({"1024"})
+    private int bits;
+
+    private RabinParameters parameters;
+    private RabinKeyContext context;
+    private RabinHybridCipher hybrid;
+    private RabinStreamCipher stream;
+    private ExecutorService executor;
+
+    private byte[] payload;
+    private byte[] ciphertext;
+
+    @Setup
+    public void setup() throws IOException {
+        RabinCryptosystem cryptosystem = new RabinCryptosystem(BbsRandom.create(P, Q, UnsignedInt.random(256)));
+        parameters = cryptosystem.generateKeys(bits);
+        context = RabinKeyContext.of(parameters.getPrivateKey());
+        hybrid = new RabinHybridCipher(cryptosystem, algorithm);
+        executor = Executors.newSingleThreadExecutor();
+        stream = new RabinStreamCipher(cryptosystem, executor, 16);
+
+        payload = new byte[PAYLOAD_LENGTH];
+        ThreadLocalRandom.current().nextBytes(payload);
+        ciphertext = hybridEncrypt();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public byte[] hybridEncrypt() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(PAYLOAD_LENGTH + PAYLOAD_LENGTH / 1024);
+        hybrid.encrypt(new ByteArrayInputStream(payload), Channels.newChannel(out), parameters.getPublicKey());
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] hybridDecrypt() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(PAYLOAD_LENGTH);
+        hybrid.decrypt(Channels.newChannel(new ByteArrayInputStream(ciphertext)), Channels.newChannel(out), context);
+        return out.toByteArray();
+    }
+
+    // Block-by-block Rabin over the same payload, the baseline the hybrid mode replaces
+    @Benchmark
+    public byte[] blockEncrypt() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(2 * PAYLOAD_LENGTH);
+        stream.encrypt(new ByteArrayInputStream(payload), Channels.newChannel(out), parameters.getPublicKey());
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,75 @@
+package dev.flanker.rand;
+
+import dev.flanker.alg.UnsignedInt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RandomBenchmark {
+    private static final int BLOCK_SIZE = 32;
+
+    @State(Scope.Thread)
+    public static class Generator {
+        @Param({"256", "512", "1024"})
+        private int bits;
+
+        private UnsignedInt prime;
+        private Random random;
+        private byte[] block;
+
+        @Setup
+        public void setup() {
+            prime = UnsignedInt.valueOf(BigInteger.probablePrime(bits, ThreadLocalRandom.current()).toString(16));
+            random = BbsRandom.create(blumPrime(bits / 2), blumPrime(bits / 2), UnsignedInt.random(bits - 1));
+            block = new byte[BLOCK_SIZE];
+        }
+    }
+
+    @Benchmark
+    public boolean isPrime(Generator generator) {
+        return MillerRabinTest.isPrime(generator.prime);
+    }
+
+    @Benchmark
+    public boolean parallelIsPrime(Generator generator) {
+        return MillerRabinTest.isPrime(generator.prime, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public int bbsNextInt(Generator generator) {
+        return generator.random.nextInt();
+    }
+
+    @Benchmark
+    public byte[] bbsGenerate(Generator generator) {
+        generator.random.generate(generator.block);
+        return generator.block;
+    }
+
+    private static UnsignedInt blumPrime(int bits) {
+        BigInteger three = BigInteger.valueOf(3);
+        BigInteger p;
+        do {
+            p = BigInteger.probablePrime(bits, ThreadLocalRandom.current());
+        } while (!p.and(three).equals(three));
+        return UnsignedInt.valueOf(p.toString(16));
+    }
+}
@@ -0,0 +1,52 @@
+package dev.flanker.alg;
+
+import java.util.ServiceLoader;
+
+// Engine behind the heavy UnsignedInt operations, chosen once per process by BACKEND_PROPERTY:
+// "native" for the limb code, "biginteger" for the JDK intrinsics, or the name of a ServiceLoader provider.
+// An implementation must not call the UnsignedInt operation it implements, NATIVE is there to delegate to
+public interface ArithmeticBackend {
+    String BACKEND_PROPERTY = "dev.flanker.alg.backend";
+
+    ArithmeticBackend NATIVE = new NativeBackend();
+    ArithmeticBackend BIG_INTEGER = new BigIntegerBackend();
+
+    String name();
+
+    // Truncated to UnsignedInt capacity like the other non-modular operations
+    UnsignedInt multiply(UnsignedInt x, UnsignedInt y);
+
+    UnsignedInt multiply(UnsignedInt x, UnsignedInt y, UnsignedInt modulus);
+
+    UnsignedInt divide(UnsignedInt x, UnsignedInt y);
+
+    UnsignedInt mod(UnsignedInt x, UnsignedInt modulus);
+
+    UnsignedInt modInverse(UnsignedInt x, UnsignedInt modulus);
+
+    UnsignedInt gcd(UnsignedInt x, UnsignedInt y);
+
+    UnsignedInt pow(UnsignedInt x, UnsignedInt exponent, UnsignedInt modulus);
+
+    UnsignedInt pow(UnsignedInt x, RecodedExponent exponent, UnsignedInt modulus);
+
+    static ArithmeticBackend current() {
+        return UnsignedInt.backend();
+    }
+
+    static ArithmeticBackend load() {
+        String name = System.getProperty(BACKEND_PROPERTY, NATIVE.name());
+        if (name.equals(NATIVE.name())) {
+            return NATIVE;
+        }
+        if (name.equals(BIG_INTEGER.name())) {
+            return BIG_INTEGER;
+        }
+        for (ArithmeticBackend backend : ServiceLoader.load(ArithmeticBackend.class)) {
+            if (name.equals(backend.name())) {
+                return backend;
+            }
+        }
+        throw new IllegalArgumentException("Unknown arithmetic backend: " + name);
+    }
+}
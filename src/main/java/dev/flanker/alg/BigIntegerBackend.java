@@ -0,0 +1,99 @@
+package dev.flanker.alg;
+
+import java.math.BigInteger;
+
+// Delegates to BigInteger, whose multiply, squaring and modPow run on HotSpot intrinsics
+// (multiplyToLen, squareToLen, mulAdd, montgomeryMultiply), at the price of two conversions per call
+final class BigIntegerBackend implements ArithmeticBackend {
+    private static final BigInteger CAPACITY_MASK = BigInteger.ONE.shiftLeft(UnsignedInt.LENGTH).subtract(BigInteger.ONE);
+
+    @Override
+    public String name() {
+        return "biginteger";
+    }
+
+    @Override
+    public UnsignedInt multiply(UnsignedInt x, UnsignedInt y) {
+        BigInteger product = toBigInteger(x).multiply(toBigInteger(y));
+        return valueOf(product.bitLength() > UnsignedInt.LENGTH ? product.and(CAPACITY_MASK) : product);
+    }
+
+    @Override
+    public UnsignedInt multiply(UnsignedInt x, UnsignedInt y, UnsignedInt modulus) {
+        try {
+            return valueOf(toBigInteger(x).multiply(toBigInteger(y)).mod(toBigInteger(modulus)));
+        } catch (ArithmeticException e) {
+            throw invalid(e);
+        }
+    }
+
+    @Override
+    public UnsignedInt divide(UnsignedInt x, UnsignedInt y) {
+        try {
+            return valueOf(toBigInteger(x).divide(toBigInteger(y)));
+        } catch (ArithmeticException e) {
+            throw invalid(e);
+        }
+    }
+
+    @Override
+    public UnsignedInt mod(UnsignedInt x, UnsignedInt modulus) {
+        try {
+            return valueOf(toBigInteger(x).mod(toBigInteger(modulus)));
+        } catch (ArithmeticException e) {
+            throw invalid(e);
+        }
+    }
+
+    @Override
+    public UnsignedInt modInverse(UnsignedInt x, UnsignedInt modulus) {
+        try {
+            return valueOf(toBigInteger(x).modInverse(toBigInteger(modulus)));
+        } catch (ArithmeticException e) {
+            throw invalid(e);
+        }
+    }
+
+    @Override
+    public UnsignedInt gcd(UnsignedInt x, UnsignedInt y) {
+        return valueOf(toBigInteger(x).gcd(toBigInteger(y)));
+    }
+
+    @Override
+    public UnsignedInt pow(UnsignedInt x, UnsignedInt exponent, UnsignedInt modulus) {
+        try {
+            return valueOf(toBigInteger(x).modPow(toBigInteger(exponent), toBigInteger(modulus)));
+        } catch (ArithmeticException e) {
+            throw invalid(e);
+        }
+    }
+
+    // BigInteger recodes on its own, only the exponent itself is used
+    @Override
+    public UnsignedInt pow(UnsignedInt x, RecodedExponent exponent, UnsignedInt modulus) {
+        return pow(x, exponent.getExponent(), modulus);
+    }
+
+    // BigInteger reports a zero modulus or divisor and a missing inverse with ArithmeticException,
+    // the native engine with IllegalArgumentException; callers must not depend on the backend
+    private static IllegalArgumentException invalid(ArithmeticException e) {
+        return new IllegalArgumentException(e.getMessage(), e);
+    }
+
+    static BigInteger toBigInteger(UnsignedInt x) {
+        if (x.fitsInLong()) {
+            return BigInteger.valueOf(x.longValue());
+        }
+        return new BigInteger(1, x.toByteArray());
+    }
+
+    static UnsignedInt valueOf(BigInteger x) {
+        if (x.bitLength() < Long.SIZE) {
+            return UnsignedInt.valueOfUnsigned(x.longValue());
+        }
+        byte[] bytes = x.toByteArray();
+        // Drop the sign byte BigInteger adds when the top bit is set
+        int offset = bytes[0] == 0 ? 1 : 0;
+        return UnsignedInt.valueOf(bytes, offset, bytes.length - offset);
+    }
+}
@@ -0,0 +1,282 @@
+package dev.flanker.alg;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Picks the profile used by ParallelMultiplier.create and RecodedExponent.of:
+//   off  - built-in defaults, the file system is never touched
+//   load - the stored profile of this machine if there is one, defaults otherwise
+//   auto - like load, but a missing, unreadable or foreign profile is measured and stored
+// Explicit threshold properties always win over whatever the profile says; a parallel threshold
+// below the Toom one is raised to it, anything else that does not fit is logged and ignored
+public final class Calibration {
+    public static final String MODE_PROPERTY = "dev.flanker.alg.calibration";
+    public static final String FILE_PROPERTY = "dev.flanker.alg.calibration.file";
+    public static final String WIDTH_THRESHOLDS_PROPERTY = "dev.flanker.alg.window.thresholds";
+
+    public static final String OFF = "off";
+    public static final String LOAD = "load";
+    public static final String AUTO = "auto";
+
+    private static final Logger LOGGER = Logger.getLogger(Calibration.class.getName());
+
+    private static final String DIRECTORY = ".flanker";
+
+    private static final int WARMUP_ROUNDS = 4;
+    private static final int MEASURED_ROUNDS = 8;
+
+    // Operand sizes in 32-bit limbs and exponent sizes in bits, the modulus of the window runs has 1024 bits
+    private static final int[] TOOM_CANDIDATES = {24, 32, 48, 64, 96, 128, 192, 256};
+    private static final int[] PARALLEL_CANDIDATES = {256, 512, 1024, 2048};
+    private static final int[] EXPONENT_LENGTHS = {8, 16, 32, 64, 128, 256, 512, 1024};
+    private static final int MODULUS_LENGTH = 1024;
+
+    // Keeps measured results reachable so the JIT cannot drop the work
+    private static volatile Object sink;
+
+    private Calibration() { }
+
+    private static final class Holder {
+        private static final CalibrationProfile PROFILE = initialProfile();
+    }
+
+    public static CalibrationProfile profile() {
+        return Holder.PROFILE;
+    }
+
+    // CPU model, core count and JVM build, anything that moves the cut-offs
+    public static String profileKey() {
+        Runtime runtime = Runtime.getRuntime();
+        return cpuModel() + "; " + System.getProperty("os.arch") + "; " + runtime.availableProcessors() + " cpus; "
+                + System.getProperty("java.vm.vendor") + " " + System.getProperty("java.vm.name") + " "
+                + System.getProperty("java.vm.version");
+    }
+
+    public static Path profilePath() {
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file != null) {
+            return Paths.get(file);
+        }
+        return Paths.get(System.getProperty("user.home"), DIRECTORY, "calibration-" + digest(profileKey()) + ".properties");
+    }
+
+    // Runs in a class initializer, where a failure would break every pow and multiply for the
+    // rest of the process, so a bad setting is reported and the defaults are used instead
+    static CalibrationProfile initialProfile() {
+        try {
+            return resolve(System.getProperty(MODE_PROPERTY, OFF), profilePath());
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Calibration failed, falling back to the default profile", e);
+            return withOverrides(CalibrationProfile.defaults());
+        }
+    }
+
+    static CalibrationProfile resolve(String mode, Path path) {
+        CalibrationProfile profile;
+        switch (mode) {
+            case OFF:
+                profile = CalibrationProfile.defaults();
+                break;
+            case LOAD:
+                profile = loadOrNull(path);
+                if (profile == null) {
+                    profile = CalibrationProfile.defaults();
+                }
+                break;
+            case AUTO:
+                profile = loadOrNull(path);
+                if (profile == null) {
+                    profile = calibrate();
+                    try {
+                        profile.store(path, profileKey());
+                    } catch (IOException e) {
+                        // Still measured, the next start simply calibrates again
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown calibration mode: " + mode);
+        }
+        return withOverrides(profile);
+    }
+
+    public static CalibrationProfile calibrate() {
+        int toomThreshold = calibrateToomThreshold();
+        int parallelThreshold = calibrateParallelThreshold(toomThreshold);
+        return CalibrationProfile.of(toomThreshold, parallelThreshold, calibrateWidthThresholds());
+    }
+
+    private static CalibrationProfile withOverrides(CalibrationProfile profile) {
+        profile = override(profile, ParallelMultiplier.TOOM_THRESHOLD_PROPERTY,
+                (current, value) -> current.withToomThreshold(Integer.decode(value)));
+        profile = override(profile, ParallelMultiplier.PARALLEL_THRESHOLD_PROPERTY,
+                (current, value) -> current.withParallelThreshold(Integer.decode(value)));
+        profile = override(profile, WIDTH_THRESHOLDS_PROPERTY,
+                (current, value) -> current.withWidthThresholds(CalibrationProfile.parseThresholds(value)));
+        return profile;
+    }
+
+    // An override that cannot be applied is reported and skipped, the others still take effect
+    private static CalibrationProfile override(CalibrationProfile profile, String property,
+                                               BiFunction<CalibrationProfile, String, CalibrationProfile> apply) {
+        String value = System.getProperty(property);
+        if (value == null) {
+            return profile;
+        }
+        try {
+            return apply.apply(profile, value.trim());
+        } catch (IllegalArgumentException e) {
+            LOGGER.log(Level.WARNING, "Ignoring " + property + "=" + value + ": " + e.getMessage());
+            return profile;
+        }
+    }
+
+    private static CalibrationProfile loadOrNull(Path path) {
+        try {
+            return CalibrationProfile.load(path, profileKey());
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+
+    // <======================= Measurements =======================>
+
+
+    // Smallest size at which one Toom-3 split beats schoolbook
+    private static int calibrateToomThreshold() {
+        ParallelMultiplier schoolbook = ParallelMultiplier.create(ForkJoinPool.commonPool(), Integer.MAX_VALUE, Integer.MAX_VALUE);
+        for (int size : TOOM_CANDIDATES) {
+            ParallelMultiplier toom = ParallelMultiplier.create(ForkJoinPool.commonPool(), size, Integer.MAX_VALUE);
+            int[] x = randomLimbs(size);
+            int[] y = randomLimbs(size);
+            if (time(() -> toom.multiply(x, y)) < time(() -> schoolbook.multiply(x, y))) {
+                return size;
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    // Forking never pays on a single worker, otherwise the smallest size at which it wins
+    private static int calibrateParallelThreshold(int toomThreshold) {
+        if (toomThreshold == Integer.MAX_VALUE || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            return Integer.MAX_VALUE;
+        }
+        ParallelMultiplier sequential = ParallelMultiplier.create(ForkJoinPool.commonPool(), toomThreshold, Integer.MAX_VALUE);
+        for (int size : PARALLEL_CANDIDATES) {
+            if (size < toomThreshold) {
+                continue;
+            }
+            ParallelMultiplier parallel = ParallelMultiplier.create(ForkJoinPool.commonPool(), toomThreshold, size);
+            int[] x = randomLimbs(size);
+            int[] y = randomLimbs(size);
+            if (time(() -> parallel.multiply(x, y)) < time(() -> sequential.multiply(x, y))) {
+                return size;
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    // Fastest width per exponent length, each switch placed halfway (geometrically) between the sampled lengths
+    private static int[] calibrateWidthThresholds() {
+        UnsignedInt modulus = UnsignedInt.random(MODULUS_LENGTH).setBit(1, MODULUS_LENGTH - 1).setBit(1, 0);
+        UnsignedInt base = UnsignedInt.random(MODULUS_LENGTH).mod(modulus);
+
+        int[] best = new int[EXPONENT_LENGTHS.length];
+        for (int i = 0; i < EXPONENT_LENGTHS.length; i++) {
+            UnsignedInt exponent = UnsignedInt.random(EXPONENT_LENGTHS[i]).setBit(1, EXPONENT_LENGTHS[i] - 1);
+            long fastest = Long.MAX_VALUE;
+            for (int width = 1; width <= RecodedExponent.MAX_WIDTH; width++) {
+                RecodedExponent recoded = RecodedExponent.of(exponent, width);
+                long elapsed = time(() -> ArithmeticBackend.NATIVE.pow(base, recoded, modulus));
+                if (elapsed < fastest) {
+                    fastest = elapsed;
+                    best[i] = width;
+                }
+            }
+            // Wider windows only pay off more as exponents grow, so noise must not step the width back
+            best[i] = i == 0 ? best[i] : Math.max(best[i], best[i - 1]);
+        }
+
+        int[] thresholds = new int[RecodedExponent.MAX_WIDTH - 1];
+        for (int width = 1; width < RecodedExponent.MAX_WIDTH; width++) {
+            int threshold = width == 1 ? 1 : thresholds[width - 2];
+            for (int i = 0; i < EXPONENT_LENGTHS.length; i++) {
+                if (best[i] <= width) {
+                    threshold = i + 1 < EXPONENT_LENGTHS.length
+                            ? (int) Math.sqrt((double) EXPONENT_LENGTHS[i] * EXPONENT_LENGTHS[i + 1])
+                            : 2 * EXPONENT_LENGTHS[i];
+                }
+            }
+            thresholds[width - 1] = threshold;
+        }
+        return thresholds;
+    }
+
+    // Best of several rounds after a warm-up, the minimum is the least disturbed by the scheduler
+    private static long time(Supplier<Object> task) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink = task.get();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink = task.get();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static int[] randomLimbs(int length) {
+        int[] limbs = new int[length];
+        for (int i = 0; i < length; i++) {
+            limbs[i] = ThreadLocalRandom.current().nextInt();
+        }
+        limbs[length - 1] |= 1 << (Integer.SIZE - 1);
+        return limbs;
+    }
+
+
+    // <======================= Profile Key =======================>
+
+
+    private static String cpuModel() {
+        try {
+            List<String> lines = Files.readAllLines(Paths.get("/proc/cpuinfo"), StandardCharsets.UTF_8);
+            for (String line : lines) {
+                if (line.startsWith("model name")) {
+                    return line.substring(line.indexOf(':') + 1).trim();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not Linux, fall through to what the platform reports
+        }
+        String identifier = System.getenv("PROCESSOR_IDENTIFIER");
+        return identifier != null ? identifier : "unknown";
+    }
+
+    private static String digest(String key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                builder.append(String.format("%02x", hash[i]));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package dev.flanker.alg;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Properties;
+
+// Tunable cut-offs of the arithmetic, either the built-in defaults or measured on this machine
+public final class CalibrationProfile {
+    private static final String TOOM_THRESHOLD = "toom.threshold";
+    private static final String PARALLEL_THRESHOLD = "parallel.threshold";
+    private static final String WIDTH_THRESHOLDS = "width.thresholds";
+    private static final String KEY = "key";
+
+    private final int toomThreshold;
+    private final int parallelThreshold;
+    private final int[] widthThresholds;
+
+    private CalibrationProfile(int toomThreshold, int parallelThreshold, int[] widthThresholds) {
+        if (toomThreshold < 3 || parallelThreshold < toomThreshold) {
+            throw new IllegalArgumentException("Thresholds must satisfy 3 <= toom <= parallel: "
+                    + toomThreshold + ", " + parallelThreshold);
+        }
+        if (widthThresholds.length != RecodedExponent.MAX_WIDTH - 1) {
+            throw new IllegalArgumentException("Expected " + (RecodedExponent.MAX_WIDTH - 1) + " width thresholds");
+        }
+        for (int i = 0; i < widthThresholds.length; i++) {
+            if (widthThresholds[i] <= 0 || i > 0 && widthThresholds[i] < widthThresholds[i - 1]) {
+                throw new IllegalArgumentException("Width thresholds must be positive and non-decreasing: "
+                        + Arrays.toString(widthThresholds));
+            }
+        }
+        this.toomThreshold = toomThreshold;
+        this.parallelThreshold = parallelThreshold;
+        this.widthThresholds = widthThresholds.clone();
+    }
+
+    public static CalibrationProfile of(int toomThreshold, int parallelThreshold, int[] widthThresholds) {
+        return new CalibrationProfile(toomThreshold, parallelThreshold, widthThresholds);
+    }
+
+    // The multiplier defaults come from system properties, clamped so they always form a valid profile
+    public static CalibrationProfile defaults() {
+        int toomThreshold = Math.max(3, ParallelMultiplier.DEFAULT_TOOM_THRESHOLD);
+        return new CalibrationProfile(
+                toomThreshold,
+                Math.max(ParallelMultiplier.DEFAULT_PARALLEL_THRESHOLD, toomThreshold),
+                RecodedExponent.DEFAULT_WIDTH_THRESHOLDS);
+    }
+
+    // Null when there is no profile at the path or it was measured under another key (a copied
+    // home directory, a new JVM), IllegalArgumentException when it is malformed
+    public static CalibrationProfile load(Path path, String key) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (!key.equals(properties.getProperty(KEY))) {
+            return null;
+        }
+        return new CalibrationProfile(
+                parse(properties, TOOM_THRESHOLD),
+                parse(properties, PARALLEL_THRESHOLD),
+                parseThresholds(properties.getProperty(WIDTH_THRESHOLDS)));
+    }
+
+    // Written next to the target and moved over it, so a concurrent start never reads half a profile
+    public void store(Path path, String key) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(KEY, key);
+        properties.setProperty(TOOM_THRESHOLD, Integer.toString(toomThreshold));
+        properties.setProperty(PARALLEL_THRESHOLD, Integer.toString(parallelThreshold));
+        properties.setProperty(WIDTH_THRESHOLDS, formatThresholds(widthThresholds));
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                properties.store(out, "dev.flanker.alg calibration profile");
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    public int getToomThreshold() {
+        return toomThreshold;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    public int[] getWidthThresholds() {
+        return widthThresholds.clone();
+    }
+
+    CalibrationProfile withToomThreshold(int toomThreshold) {
+        return new CalibrationProfile(toomThreshold, Math.max(parallelThreshold, toomThreshold), widthThresholds);
+    }
+
+    CalibrationProfile withParallelThreshold(int parallelThreshold) {
+        return new CalibrationProfile(toomThreshold, Math.max(parallelThreshold, toomThreshold), widthThresholds);
+    }
+
+    CalibrationProfile withWidthThresholds(int[] widthThresholds) {
+        return new CalibrationProfile(toomThreshold, parallelThreshold, widthThresholds);
+    }
+
+    // Hot path of RecodedExponent.width, no defensive copy
+    int widthThreshold(int index) {
+        return widthThresholds[index];
+    }
+
+    static int[] parseThresholds(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing width thresholds");
+        }
+        String[] parts = value.split(",");
+        int[] thresholds = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            thresholds[i] = Integer.parseInt(parts[i].trim());
+        }
+        return thresholds;
+    }
+
+    static String formatThresholds(int[] thresholds) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < thresholds.length; i++) {
+            builder.append(i == 0 ? "" : ",").append(thresholds[i]);
+        }
+        return builder.toString();
+    }
+
+    private static int parse(Properties properties, String name) {
+        String value = properties.getProperty(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + name);
+        }
+        return Integer.parseInt(value.trim());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CalibrationProfile that = (CalibrationProfile) o;
+        return toomThreshold == that.toomThreshold
+                && parallelThreshold == that.parallelThreshold
+                && Arrays.equals(widthThresholds, that.widthThresholds);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * toomThreshold + parallelThreshold) + Arrays.hashCode(widthThresholds);
+    }
+
+    @Override
+    public String toString() {
+        return "toom=" + toomThreshold + ", parallel=" + parallelThreshold
+                + ", widths=" + formatThresholds(widthThresholds);
+    }
+}
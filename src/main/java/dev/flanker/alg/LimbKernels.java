@@ -0,0 +1,26 @@
+package dev.flanker.alg;
+
+interface LimbKernels {
+    String VECTOR_PROPERTY = "dev.flanker.alg.vector";
+    String VECTOR_KERNELS = "dev.flanker.alg.VectorLimbKernels";
+
+    boolean isZero(int[] x, int length);
+
+    int compare(int[] x, int[] y, int length);
+
+    void shiftLeft(int[] x, int length, int blockShift, int bitShift);
+
+    void shiftRight(int[] x, int length, int blockShift, int bitShift);
+
+    static LimbKernels load() {
+        if (!Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, "true"))) {
+            return new ScalarLimbKernels();
+        }
+        try {
+            // Fails with a LinkageError unless jdk.incubator.vector is resolved at runtime
+            return (LimbKernels) Class.forName(VECTOR_KERNELS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | UnsupportedOperationException e) {
+            return new ScalarLimbKernels();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package dev.flanker.alg;
+
+import dev.flanker.metrics.Counter;
+import dev.flanker.metrics.Metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded LRU of Montgomery contexts split into independently locked stripes,
+// so lookups of different moduli rarely contend
+public final class ModulusCache {
+    public static final String CAPACITY_PROPERTY = "dev.flanker.alg.modulus.cache.capacity";
+    public static final int DEFAULT_CAPACITY = Integer.getInteger(CAPACITY_PROPERTY, 4096);
+
+    private static final int STRIPES = 16;
+
+    private static final ModulusCache SHARED = create(DEFAULT_CAPACITY);
+
+    private final Stripe[] stripes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private ModulusCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.stripes = new Stripe[STRIPES];
+        int stripeCapacity = (capacity + STRIPES - 1) / STRIPES;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(stripeCapacity);
+        }
+    }
+
+    public static ModulusCache create(int capacity) {
+        return new ModulusCache(capacity);
+    }
+
+    // The instance consulted by UnsignedInt's modular operations
+    public static ModulusCache shared() {
+        return SHARED;
+    }
+
+    public ModulusContext get(UnsignedInt modulus) {
+        Stripe stripe = stripe(modulus);
+        ModulusContext context;
+        synchronized (stripe) {
+            context = stripe.get(modulus);
+        }
+        if (context != null) {
+            hits.increment();
+            Metrics.increment(Counter.MODULUS_CACHE_HIT);
+            return context;
+        }
+
+        misses.increment();
+        Metrics.increment(Counter.MODULUS_CACHE_MISS);
+        // Built outside the lock, a racing miss on the same modulus only wastes the duplicate
+        context = ModulusContext.of(modulus);
+        synchronized (stripe) {
+            ModulusContext existing = stripe.putIfAbsent(modulus, context);
+            return existing == null ? context : existing;
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public double hitRate() {
+        long hits = hits();
+        long total = hits + misses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    private Stripe stripe(UnsignedInt modulus) {
+        int hash = modulus.hashCode() * 0x9E3779B9;
+        return stripes[hash >>> (Integer.SIZE - Integer.numberOfTrailingZeros(STRIPES))];
+    }
+
+    private static final class Stripe extends LinkedHashMap<UnsignedInt, ModulusContext> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        private Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UnsignedInt, ModulusContext> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package dev.flanker.alg;
+
+import dev.flanker.metrics.Counter;
+import dev.flanker.metrics.Metrics;
+
+import java.util.Arrays;
+
+// Montgomery constants of an odd modulus n > 1 with R = 2^(32k), k the limb length of n
+public final class ModulusContext {
+    private static final long MASK = 0xffffffffL;
+
+    private final UnsignedInt modulus;
+    private final int[] n;
+    private final int k;
+    private final int nInverse;
+    private final int[] rSquare;
+    private final int[] one;
+    private final UnsignedInt inverseOfTwo;
+
+    private ModulusContext(UnsignedInt modulus) {
+        if (modulus.getBit(0) == 0 || modulus.bitLength() == 0) {
+            throw new IllegalArgumentException("Modulus must be odd and greater than one");
+        }
+        this.modulus = modulus;
+        this.n = modulus.toIntArray();
+        this.k = n.length;
+        this.nInverse = negativeInverse(n[0]);
+        this.rSquare = rSquare(n);
+        this.one = new int[k];
+        this.one[0] = 1;
+        this.inverseOfTwo = modulus.add(UnsignedInt.ONE).shiftRight(1);
+    }
+
+    public static ModulusContext of(UnsignedInt modulus) {
+        return new ModulusContext(modulus);
+    }
+
+    public UnsignedInt getModulus() {
+        return modulus;
+    }
+
+    // -n^-1 mod 2^32
+    public int getNegativeInverse() {
+        return nInverse;
+    }
+
+    // R^2 mod n
+    public UnsignedInt getRSquare() {
+        return UnsignedInt.valueOf(rSquare);
+    }
+
+    public UnsignedInt getInverseOfTwo() {
+        return inverseOfTwo;
+    }
+
+    int length() {
+        return k;
+    }
+
+
+    // <======================= Montgomery =======================>
+
+
+    // result = x * y / R mod n for x < R and y < n, result may alias x or y, t holds k + 2 limbs
+    void multiply(int[] x, int[] y, int[] result, int[] t) {
+        Metrics.increment(Counter.MULTIPLY);
+
+        Arrays.fill(t, 0);
+        long n0 = n[0] & MASK;
+        for (int i = 0; i < k; i++) {
+            long xi = x[i] & MASK;
+            long carry = 0;
+            for (int j = 0; j < k; j++) {
+                carry += (t[j] & MASK) + xi * (y[j] & MASK);
+                t[j] = (int) carry;
+                carry >>>= 32;
+            }
+            carry += t[k] & MASK;
+            t[k] = (int) carry;
+            t[k + 1] = (int) (carry >>> 32);
+
+            long m = (t[0] * nInverse) & MASK;
+            carry = ((t[0] & MASK) + m * n0) >>> 32;
+            for (int j = 1; j < k; j++) {
+                carry += (t[j] & MASK) + m * (n[j] & MASK);
+                t[j - 1] = (int) carry;
+                carry >>>= 32;
+            }
+            carry += t[k] & MASK;
+            t[k - 1] = (int) carry;
+            t[k] = t[k + 1] + (int) (carry >>> 32);
+        }
+
+        // t < 2n here, one conditional subtraction brings it below n
+        if (t[k] != 0 || compare(t, n, k) >= 0) {
+            subtract(t, n, result, k);
+        } else {
+            System.arraycopy(t, 0, result, 0, k);
+        }
+    }
+
+    // result = x * R mod n for x of any length, folded k limbs at a time from the top
+    void toMontgomery(int[] x, int length, int[] result, int[] chunk, int[] t) {
+        Arrays.fill(result, 0, k, 0);
+        for (int from = (length - 1) / k * k; from >= 0; from -= k) {
+            if (from + k < length) {
+                multiply(result, rSquare, result, t);
+            }
+            Arrays.fill(chunk, 0, k, 0);
+            System.arraycopy(x, from, chunk, 0, Math.min(k, length - from));
+            multiply(chunk, rSquare, chunk, t);
+            addMod(result, chunk);
+        }
+    }
+
+    boolean isReduced(int[] x, int length) {
+        return length <= k && compare(x, n, k) < 0;
+    }
+
+    // result = x / R mod n
+    void fromMontgomery(int[] x, int[] result, int[] t) {
+        multiply(x, one, result, t);
+    }
+
+    // x = x + y mod n for x, y < n
+    private void addMod(int[] x, int[] y) {
+        long carry = 0;
+        for (int i = 0; i < k; i++) {
+            carry += (x[i] & MASK) + (y[i] & MASK);
+            x[i] = (int) carry;
+            carry >>>= 32;
+        }
+        if (carry != 0 || compare(x, n, k) >= 0) {
+            subtract(x, n, x, k);
+        }
+    }
+
+    private static void subtract(int[] x, int[] y, int[] result, int length) {
+        long borrow = 0;
+        for (int i = 0; i < length; i++) {
+            borrow = (x[i] & MASK) - (y[i] & MASK) + (borrow >> 32);
+            result[i] = (int) borrow;
+        }
+    }
+
+    private static int compare(int[] x, int[] y, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (x[i] != y[i]) {
+                return Integer.compareUnsigned(x[i], y[i]);
+            }
+        }
+        return 0;
+    }
+
+    // An odd n0 is its own inverse mod 8, each Newton step doubles the correct low bits: 3 -> 48
+    private static int negativeInverse(int n0) {
+        int inverse = n0;
+        for (int i = 0; i < 4; i++) {
+            inverse *= 2 - n0 * inverse;
+        }
+        return -inverse;
+    }
+
+    // 2^(64k) mod n by modular doubling, R^2 itself does not fit into an UnsignedInt
+    private static int[] rSquare(int[] n) {
+        int k = n.length;
+        int[] x = new int[k];
+        x[0] = 1;
+        for (int i = 0; i < 64 * k; i++) {
+            int top = x[k - 1] >>> 31;
+            for (int j = k - 1; j > 0; j--) {
+                x[j] = (x[j] << 1) | (x[j - 1] >>> 31);
+            }
+            x[0] <<= 1;
+            if (top != 0 || compare(x, n, k) >= 0) {
+                subtract(x, n, x, k);
+            }
+        }
+        return x;
+    }
+}
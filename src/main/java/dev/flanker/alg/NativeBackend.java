@@ -0,0 +1,48 @@
+package dev.flanker.alg;
+
+final class NativeBackend implements ArithmeticBackend {
+    @Override
+    public String name() {
+        return "native";
+    }
+
+    @Override
+    public UnsignedInt multiply(UnsignedInt x, UnsignedInt y) {
+        return x.nativeMultiply(y);
+    }
+
+    @Override
+    public UnsignedInt multiply(UnsignedInt x, UnsignedInt y, UnsignedInt modulus) {
+        return x.nativeMultiply(y, modulus);
+    }
+
+    @Override
+    public UnsignedInt divide(UnsignedInt x, UnsignedInt y) {
+        return x.nativeDivide(y);
+    }
+
+    @Override
+    public UnsignedInt mod(UnsignedInt x, UnsignedInt modulus) {
+        return x.nativeMod(modulus);
+    }
+
+    @Override
+    public UnsignedInt modInverse(UnsignedInt x, UnsignedInt modulus) {
+        return x.nativeModInverse(modulus);
+    }
+
+    @Override
+    public UnsignedInt gcd(UnsignedInt x, UnsignedInt y) {
+        return x.nativeGcd(y);
+    }
+
+    @Override
+    public UnsignedInt pow(UnsignedInt x, UnsignedInt exponent, UnsignedInt modulus) {
+        return x.nativePow(exponent, modulus);
+    }
+
+    @Override
+    public UnsignedInt pow(UnsignedInt x, RecodedExponent exponent, UnsignedInt modulus) {
+        return x.nativePow(exponent, modulus);
+    }
+}
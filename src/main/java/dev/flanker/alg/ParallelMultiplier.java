@@ -0,0 +1,318 @@
+package dev.flanker.alg;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+public class ParallelMultiplier {
+    public static final String TOOM_THRESHOLD_PROPERTY = "dev.flanker.alg.toom.threshold";
+    public static final String PARALLEL_THRESHOLD_PROPERTY = "dev.flanker.alg.parallel.threshold";
+
+    // In 32-bit limbs: Toom-3 pays off from ~3k bits against schoolbook, forking from ~8k bits
+    public static final int DEFAULT_TOOM_THRESHOLD = Integer.getInteger(TOOM_THRESHOLD_PROPERTY, 96);
+    public static final int DEFAULT_PARALLEL_THRESHOLD = Integer.getInteger(PARALLEL_THRESHOLD_PROPERTY, 256);
+
+    private static final long MASK = 0xffffffffL;
+    private static final int[] EMPTY = new int[0];
+
+    private final ForkJoinPool pool;
+    private final int toomThreshold;
+    private final int parallelThreshold;
+
+    private ParallelMultiplier(ForkJoinPool pool, int toomThreshold, int parallelThreshold) {
+        // Toom-3 splits into thirds, below 3 limbs a part would be empty
+        if (toomThreshold < 3 || parallelThreshold < toomThreshold) {
+            throw new IllegalArgumentException("Thresholds must satisfy 3 <= toom <= parallel: "
+                    + toomThreshold + ", " + parallelThreshold);
+        }
+        this.pool = pool;
+        this.toomThreshold = toomThreshold;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    // Thresholds of the calibration profile, which are the defaults above unless calibration is enabled
+    public static ParallelMultiplier create() {
+        CalibrationProfile profile = Calibration.profile();
+        return create(ForkJoinPool.commonPool(), profile.getToomThreshold(), profile.getParallelThreshold());
+    }
+
+    public static ParallelMultiplier create(ForkJoinPool pool, int toomThreshold, int parallelThreshold) {
+        return new ParallelMultiplier(pool, toomThreshold, parallelThreshold);
+    }
+
+    public int getToomThreshold() {
+        return toomThreshold;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    // Little-endian 32-bit limbs of any length, UnsignedInt.toIntArray is one source but products may exceed its capacity
+    public int[] multiply(int[] x, int[] y) {
+        int[] a = trim(x);
+        int[] b = trim(y);
+        if (Math.min(a.length, b.length) >= parallelThreshold) {
+            return pool.invoke(new MultiplyTask(a, b));
+        }
+        return multiplyMagnitude(a, b);
+    }
+
+
+    // <======================= Toom-Cook 3 =======================>
+
+
+    private int[] multiplyMagnitude(int[] a, int[] b) {
+        if (Math.min(a.length, b.length) < toomThreshold) {
+            return schoolbook(a, b);
+        }
+        return toomCook3(a, b, false);
+    }
+
+    // Bodrato's evaluation and interpolation sequence at 0, 1, -1, 2 and infinity
+    private int[] toomCook3(int[] a, int[] b, boolean parallel) {
+        int k = (Math.max(a.length, b.length) + 2) / 3;
+
+        Signed a0 = part(a, 0, k), a1 = part(a, 1, k), a2 = part(a, 2, k);
+        Signed b0 = part(b, 0, k), b1 = part(b, 1, k), b2 = part(b, 2, k);
+
+        Signed da1 = a2.add(a0);
+        Signed db1 = b2.add(b0);
+        Signed dam1 = da1.subtract(a1);
+        Signed dbm1 = db1.subtract(b1);
+        da1 = da1.add(a1);
+        db1 = db1.add(b1);
+        Signed da2 = da1.add(a2).shiftLeft1().subtract(a0);
+        Signed db2 = db1.add(b2).shiftLeft1().subtract(b0);
+
+        Signed v0, v1, vm1, v2, vinf;
+        if (parallel) {
+            ProductTask t0 = new ProductTask(a0, b0);
+            ProductTask t1 = new ProductTask(da1, db1);
+            ProductTask tm1 = new ProductTask(dam1, dbm1);
+            ProductTask t2 = new ProductTask(da2, db2);
+            ProductTask tinf = new ProductTask(a2, b2);
+            ForkJoinTask.invokeAll(t0, t1, tm1, t2, tinf);
+            v0 = t0.join();
+            v1 = t1.join();
+            vm1 = tm1.join();
+            v2 = t2.join();
+            vinf = tinf.join();
+        } else {
+            v0 = product(a0, b0);
+            v1 = product(da1, db1);
+            vm1 = product(dam1, dbm1);
+            v2 = product(da2, db2);
+            vinf = product(a2, b2);
+        }
+
+        Signed t2 = v2.subtract(vm1).divideBy3();
+        Signed tm1 = v1.subtract(vm1).shiftRight1();
+        Signed t1 = v1.subtract(v0);
+        t2 = t2.subtract(t1).shiftRight1();
+        t1 = t1.subtract(tm1).subtract(vinf);
+        t2 = t2.subtract(vinf.shiftLeft1());
+        tm1 = tm1.subtract(t2);
+
+        int[] result = new int[a.length + b.length + 1];
+        accumulate(result, v0.magnitude, 0);
+        accumulate(result, tm1.magnitude, k);
+        accumulate(result, t1.magnitude, 2 * k);
+        accumulate(result, t2.magnitude, 3 * k);
+        accumulate(result, vinf.magnitude, 4 * k);
+        return trim(result);
+    }
+
+    private Signed product(Signed x, Signed y) {
+        return new Signed(x.sign * y.sign, multiplyMagnitude(x.magnitude, y.magnitude));
+    }
+
+    private final class MultiplyTask extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] a;
+        private final int[] b;
+
+        private MultiplyTask(int[] a, int[] b) {
+            this.a = a;
+            this.b = b;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (Math.min(a.length, b.length) < toomThreshold) {
+                return schoolbook(a, b);
+            }
+            return toomCook3(a, b, Math.min(a.length, b.length) >= parallelThreshold);
+        }
+    }
+
+    private final class ProductTask extends RecursiveTask<Signed> {
+        private static final long serialVersionUID = 1L;
+
+        private final Signed x;
+        private final Signed y;
+
+        private ProductTask(Signed x, Signed y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        protected Signed compute() {
+            return new Signed(x.sign * y.sign, new MultiplyTask(x.magnitude, y.magnitude).compute());
+        }
+    }
+
+
+    // <======================= Magnitudes =======================>
+
+
+    // The sequential kernel below the Toom-3 threshold
+    static int[] schoolbook(int[] a, int[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return EMPTY;
+        }
+        int[] result = new int[a.length + b.length];
+        for (int i = 0; i < b.length; i++) {
+            long multiplier = b[i] & MASK;
+            long carry = 0;
+            for (int j = 0; j < a.length; j++) {
+                carry += (result[i + j] & MASK) + (a[j] & MASK) * multiplier;
+                result[i + j] = (int) carry;
+                carry >>>= 32;
+            }
+            result[i + a.length] = (int) carry;
+        }
+        return trim(result);
+    }
+
+    private static Signed part(int[] x, int index, int k) {
+        int from = Math.min(index * k, x.length);
+        int to = Math.min(from + k, x.length);
+        return new Signed(1, trim(Arrays.copyOfRange(x, from, to)));
+    }
+
+    // result += x << (32 * offset), signed parts of the interpolation are non-negative by now
+    private static void accumulate(int[] result, int[] x, int offset) {
+        long carry = 0;
+        int i = 0;
+        for (; i < x.length; i++) {
+            carry += (result[offset + i] & MASK) + (x[i] & MASK);
+            result[offset + i] = (int) carry;
+            carry >>>= 32;
+        }
+        for (int j = offset + i; carry != 0; j++) {
+            carry += result[j] & MASK;
+            result[j] = (int) carry;
+            carry >>>= 32;
+        }
+    }
+
+    private static int[] trim(int[] x) {
+        int length = x.length;
+        while (length > 0 && x[length - 1] == 0) {
+            length--;
+        }
+        return length == x.length ? x : Arrays.copyOf(x, length);
+    }
+
+    private static int compare(int[] x, int[] y) {
+        if (x.length != y.length) {
+            return x.length < y.length ? -1 : 1;
+        }
+        for (int i = x.length - 1; i >= 0; i--) {
+            if (x[i] != y[i]) {
+                return Integer.compareUnsigned(x[i], y[i]);
+            }
+        }
+        return 0;
+    }
+
+    private static int[] add(int[] x, int[] y) {
+        if (x.length < y.length) {
+            return add(y, x);
+        }
+        int[] result = new int[x.length + 1];
+        long carry = 0;
+        for (int i = 0; i < x.length; i++) {
+            carry += (x[i] & MASK) + (i < y.length ? y[i] & MASK : 0);
+            result[i] = (int) carry;
+            carry >>>= 32;
+        }
+        result[x.length] = (int) carry;
+        return trim(result);
+    }
+
+    // x >= y
+    private static int[] subtract(int[] x, int[] y) {
+        int[] result = new int[x.length];
+        long borrow = 0;
+        for (int i = 0; i < x.length; i++) {
+            borrow = (x[i] & MASK) - (i < y.length ? y[i] & MASK : 0) + (borrow >> 32);
+            result[i] = (int) borrow;
+        }
+        return trim(result);
+    }
+
+    private static final class Signed {
+        private final int sign;
+        private final int[] magnitude;
+
+        private Signed(int sign, int[] magnitude) {
+            this.sign = magnitude.length == 0 ? 0 : sign;
+            this.magnitude = magnitude;
+        }
+
+        private Signed add(Signed that) {
+            if (that.sign == 0) {
+                return this;
+            }
+            if (sign == 0) {
+                return that;
+            }
+            if (sign == that.sign) {
+                return new Signed(sign, ParallelMultiplier.add(magnitude, that.magnitude));
+            }
+            int comparison = compare(magnitude, that.magnitude);
+            if (comparison >= 0) {
+                return new Signed(sign, ParallelMultiplier.subtract(magnitude, that.magnitude));
+            }
+            return new Signed(that.sign, ParallelMultiplier.subtract(that.magnitude, magnitude));
+        }
+
+        private Signed subtract(Signed that) {
+            return add(new Signed(-that.sign, that.magnitude));
+        }
+
+        private Signed shiftLeft1() {
+            int[] result = new int[magnitude.length + 1];
+            for (int i = 0; i < magnitude.length; i++) {
+                result[i] |= magnitude[i] << 1;
+                result[i + 1] = magnitude[i] >>> 31;
+            }
+            return new Signed(sign, trim(result));
+        }
+
+        // Exact division, the interpolation only halves even values
+        private Signed shiftRight1() {
+            int[] result = new int[magnitude.length];
+            for (int i = 0; i < magnitude.length; i++) {
+                result[i] = (magnitude[i] >>> 1) | (i + 1 < magnitude.length ? magnitude[i + 1] << 31 : 0);
+            }
+            return new Signed(sign, trim(result));
+        }
+
+        private Signed divideBy3() {
+            int[] result = new int[magnitude.length];
+            long remainder = 0;
+            for (int i = magnitude.length - 1; i >= 0; i--) {
+                long current = (remainder << 32) | (magnitude[i] & MASK);
+                result[i] = (int) (current / 3);
+                remainder = current % 3;
+            }
+            return new Signed(sign, trim(result));
+        }
+    }
+}
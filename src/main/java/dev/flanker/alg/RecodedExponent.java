@@ -0,0 +1,102 @@
+package dev.flanker.alg;
+
+public final class RecodedExponent {
+    // Exponent bit lengths up to which each window width is used, same cut-offs as BigInteger.modPow,
+    // a calibrated profile may replace them
+    static final int[] DEFAULT_WIDTH_THRESHOLDS = {7, 25, 81, 241, 673};
+    static final int MAX_WIDTH = DEFAULT_WIDTH_THRESHOLDS.length + 1;
+
+    private final UnsignedInt exponent;
+    private final int width;
+
+    // windows[i] is an odd window value, applied after squarings[i] squarings of the accumulator
+    private final int[] windows;
+    private final int[] squarings;
+    private final int count;
+    private final int trailingSquarings;
+
+    private RecodedExponent(UnsignedInt exponent, int width) {
+        this.exponent = exponent;
+        this.width = width;
+
+        int i = exponent.equals(UnsignedInt.ZERO) ? -1 : exponent.bitLength();
+
+        // Each window claims width bit positions from its top bit, so ceil(bits / width) windows at most
+        this.windows = new int[(i + width) / width];
+        this.squarings = new int[windows.length];
+
+        int count = 0;
+        int pending = 0;
+        while (i >= 0) {
+            if (exponent.getBit(i) == 0) {
+                pending++;
+                i--;
+                continue;
+            }
+
+            int low = Math.max(i - width + 1, 0);
+            while (exponent.getBit(low) == 0) {
+                low++;
+            }
+            int value = 0;
+            for (int j = i; j >= low; j--) {
+                value = (value << 1) | exponent.getBit(j);
+            }
+
+            windows[count] = value;
+            squarings[count] = count == 0 ? 0 : pending + i - low + 1;
+            count++;
+
+            pending = 0;
+            i = low - 1;
+        }
+
+        this.count = count;
+        this.trailingSquarings = pending;
+    }
+
+    public static RecodedExponent of(UnsignedInt exponent) {
+        return new RecodedExponent(exponent, width(exponent));
+    }
+
+    public static RecodedExponent of(UnsignedInt exponent, int width) {
+        if (width <= 0 || width > MAX_WIDTH) {
+            throw new IllegalArgumentException("Window width must be in [1, " + MAX_WIDTH + "]: " + width);
+        }
+        return new RecodedExponent(exponent, width);
+    }
+
+    public UnsignedInt getExponent() {
+        return exponent;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    int windowCount() {
+        return count;
+    }
+
+    int window(int index) {
+        return windows[index];
+    }
+
+    int squarings(int index) {
+        return squarings[index];
+    }
+
+    int trailingSquarings() {
+        return trailingSquarings;
+    }
+
+    static int width(UnsignedInt exponent) {
+        CalibrationProfile profile = Calibration.profile();
+        int bits = exponent.bitLength() + 1;
+        int width = 1;
+        while (width < MAX_WIDTH && bits > profile.widthThreshold(width - 1)) {
+            width++;
+        }
+        return width;
+    }
+}
@@ -0,0 +1,46 @@
+package dev.flanker.alg;
+
+final class ScalarLimbKernels implements LimbKernels {
+    private static final int BASE = Integer.SIZE;
+
+    @Override
+    public boolean isZero(int[] x, int length) {
+        for (int i = 0; i < length; i++) {
+            if (x[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int compare(int[] x, int[] y, int length) {
+        int position = length - 1;
+        while (position > -1 && x[position] == y[position]) {
+            position--;
+        }
+        if (position == -1) {
+            return 0;
+        } else {
+            return Integer.compareUnsigned(x[position], y[position]);
+        }
+    }
+
+    @Override
+    public void shiftLeft(int[] x, int length, int blockShift, int bitShift) {
+        for (int i = length - 1; i >= 0; i--) {
+            int firstBlock = i - blockShift >= 0 ? x[i - blockShift] : 0;
+            int secondBlock = i - blockShift - 1 >= 0 ? x[i - blockShift - 1] : 0;
+            x[i] = (firstBlock << bitShift) | (secondBlock >>> (BASE - bitShift));
+        }
+    }
+
+    @Override
+    public void shiftRight(int[] x, int length, int blockShift, int bitShift) {
+        for (int i = 0; i < length; i++) {
+            int firstBlock = i + blockShift < length ? x[i + blockShift] : 0;
+            int secondBlock = i + blockShift + 1 < length ? x[i + blockShift + 1] : 0;
+            x[i] = (firstBlock >>> bitShift) | (secondBlock << (BASE - bitShift));
+        }
+    }
+}
@@ -1,22 +1,35 @@
 package dev.flanker.alg;
 
+import dev.flanker.metrics.Counter;
+import dev.flanker.metrics.Metrics;
 import dev.flanker.rand.Random;
 
 import java.math.BigInteger;
-import java.util.HashMap;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static java.lang.Integer.toUnsignedLong;
 import static java.util.Arrays.fill;
 
 public class UnsignedInt implements Comparable<UnsignedInt> {
-    private static final Map<Character, Integer> CODES = new HashMap<>();
+    private static final LimbKernels KERNELS = LimbKernels.load();
+    private static final ArithmeticBackend BACKEND = ArithmeticBackend.load();
+
+    private static final char[] HEXADECIMAL_DIGITS = "0123456789abcdef".toCharArray();
+    private static final byte[] HEXADECIMAL_CODES = new byte[128];
 
     public static final UnsignedInt ZERO = new UnsignedInt(0);
     public static final UnsignedInt ONE = new UnsignedInt(1);
     public static final UnsignedInt TWO = new UnsignedInt(2);
 
+    // Capacity in bits, wider values are rejected
+    public static final int LENGTH = 2048;
+
     private static final Map<Long, UnsignedInt> CONSTANT_CACHE = Map.of(
             0L, ZERO,
             1L, ONE,
@@ -24,53 +37,69 @@ public class UnsignedInt implements Comparable<UnsignedInt> {
     );
 
     private static final int BASE = 32;
-    private static final int LENGTH = 2048;
     private static final int ARRAY_LENGTH = LENGTH / BASE;
     private static final int DOUBLE_ARRAY_LENGTH = 2 * ARRAY_LENGTH;
 
-    private static final int WINDOW_LEN = 4;
-    private static final int WINDOW_MASK = (1 << WINDOW_LEN) - 1;
-    private static final int PRECOMPUTED_CACHE_SIZE = (int) Math.pow(2, WINDOW_LEN);
+    // Exponents up to this many bits skip window recoding and the precomputed table
+    private static final int SHORT_EXPONENT_LENGTH = 16;
 
-    private static final int RADIX = 16;
     private static final int HEXADECIMAL_BIT_LENGTH = 4;
     private static final int BASE_HEXADECIMAL_LENGTH = BASE / HEXADECIMAL_BIT_LENGTH;
     private static final int BASE_BYTE_LENGTH = BASE / Byte.SIZE;
+    private static final int MAX_BYTE_LENGTH = ARRAY_LENGTH * BASE_BYTE_LENGTH;
+    private static final int MAX_HEXADECIMAL_LENGTH = DOUBLE_ARRAY_LENGTH * BASE_HEXADECIMAL_LENGTH;
 
+    // Values below 2^63 keep only the compact long, the limb array is null for them
     private final int[] digits;
+    private final long small;
 
     static {
         // Codes initialization
-        CODES.put('0', 0);
-        CODES.put('1', 1);
-        CODES.put('2', 2);
-        CODES.put('3', 3);
-        CODES.put('4', 4);
-        CODES.put('5', 5);
-        CODES.put('6', 6);
-        CODES.put('7', 7);
-        CODES.put('8', 8);
-        CODES.put('9', 9);
-        CODES.put('a', 10);
-        CODES.put('b', 11);
-        CODES.put('c', 12);
-        CODES.put('d', 13);
-        CODES.put('e', 14);
-        CODES.put('f', 15);
-    }
-
-    private UnsignedInt() {
-        this(new int[DOUBLE_ARRAY_LENGTH]);
+        fill(HEXADECIMAL_CODES, (byte) -1);
+        for (int i = 0; i < HEXADECIMAL_DIGITS.length; i++) {
+            HEXADECIMAL_CODES[HEXADECIMAL_DIGITS[i]] = (byte) i;
+            HEXADECIMAL_CODES[Character.toUpperCase(HEXADECIMAL_DIGITS[i])] = (byte) i;
+        }
     }
 
     public UnsignedInt(int digit) {
-        this.digits = new int[DOUBLE_ARRAY_LENGTH];
-        this.digits[0] = digit;
+        this(toUnsignedLong(digit));
+    }
+
+    private UnsignedInt(long small) {
+        assert small >= 0;
+        this.digits = null;
+        this.small = small;
     }
 
     private UnsignedInt(int[] digits) {
         assert digits.length == DOUBLE_ARRAY_LENGTH;
         this.digits = digits;
+        this.small = -1;
+    }
+
+    // Canonical form, so equal values always share a representation; large values exit on the first limbs
+    private static UnsignedInt wrap(int[] digits) {
+        if (digits[1] < 0) {
+            return new UnsignedInt(digits);
+        }
+        for (int i = 2; i < DOUBLE_ARRAY_LENGTH; i++) {
+            if (digits[i] != 0) {
+                return new UnsignedInt(digits);
+            }
+        }
+        return new UnsignedInt(toUnsignedLong(digits[0]) | (long) digits[1] << BASE);
+    }
+
+    // The limb form of any value, compact values are expanded into a fresh array
+    private int[] digits() {
+        if (digits != null) {
+            return digits;
+        }
+        int[] expanded = new int[DOUBLE_ARRAY_LENGTH];
+        expanded[0] = (int) small;
+        expanded[1] = (int) (small >>> BASE);
+        return expanded;
     }
 
 
@@ -85,27 +114,107 @@ public class UnsignedInt implements Comparable<UnsignedInt> {
     }
 
     public static UnsignedInt valueOf(String number) {
-        try {
-            int[] digits = new int[DOUBLE_ARRAY_LENGTH];
-            int shift = 0;
-            int block = 0;
-            for (int i = number.length() - 1; i > -1; i--) {
-                digits[block] ^= CODES.get(number.charAt(i)) << (HEXADECIMAL_BIT_LENGTH * shift);
-
-                shift++;
-                block += (shift / BASE_HEXADECIMAL_LENGTH);
-                shift = shift % BASE_HEXADECIMAL_LENGTH;
+        return valueOf(number, 0, number.length());
+    }
+
+    public static UnsignedInt valueOf(CharSequence number) {
+        return valueOf(number, 0, number.length());
+    }
+
+    public static UnsignedInt valueOf(CharSequence number, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, number.length());
+        int end = offset + length;
+        while (offset < end && number.charAt(offset) == '0') {
+            offset++;
+        }
+        if (end - offset > MAX_HEXADECIMAL_LENGTH) {
+            throw new IllegalArgumentException("Number does not fit into " + 2 * LENGTH + " bits");
+        }
+
+        int[] digits = new int[DOUBLE_ARRAY_LENGTH];
+        int block = 0;
+        int i = end;
+        while (i - offset >= BASE_HEXADECIMAL_LENGTH) {
+            digits[block++] = parseDigit(number, i - BASE_HEXADECIMAL_LENGTH, i);
+            i -= BASE_HEXADECIMAL_LENGTH;
+        }
+        if (i > offset) {
+            digits[block] = parseDigit(number, offset, i);
+        }
+        return wrap(digits);
+    }
+
+    public static UnsignedInt valueOf(byte[] bytes) {
+        return valueOf(bytes, 0, bytes.length, ByteOrder.BIG_ENDIAN);
+    }
+
+    public static UnsignedInt valueOf(byte[] bytes, int offset, int length) {
+        return valueOf(bytes, offset, length, ByteOrder.BIG_ENDIAN);
+    }
+
+    public static UnsignedInt valueOf(byte[] bytes, int offset, int length, ByteOrder order) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        int[] digits = new int[DOUBLE_ARRAY_LENGTH];
+        if (order == ByteOrder.BIG_ENDIAN) {
+            readBigEndian(bytes, offset, length, digits);
+        } else {
+            readLittleEndian(bytes, offset, length, digits);
+        }
+        return wrap(digits);
+    }
+
+    public static UnsignedInt valueOf(int[] limbs) {
+        int length = limbs.length;
+        while (length > 0 && limbs[length - 1] == 0) {
+            length--;
+        }
+        if (length > ARRAY_LENGTH) {
+            throw new IllegalArgumentException("Number does not fit into " + LENGTH + " bits");
+        }
+        int[] digits = new int[DOUBLE_ARRAY_LENGTH];
+        System.arraycopy(limbs, 0, digits, 0, length);
+        return wrap(digits);
+    }
+
+    public static UnsignedInt readFrom(ByteBuffer buffer, int length) {
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid length: " + length);
+        }
+        int[] digits = new int[DOUBLE_ARRAY_LENGTH];
+        int blocks = length / BASE_BYTE_LENGTH;
+        int tail = length % BASE_BYTE_LENGTH;
+        if (buffer.order() == ByteOrder.BIG_ENDIAN) {
+            putDigit(digits, blocks, getTail(buffer, tail, ByteOrder.BIG_ENDIAN));
+            for (int i = blocks - 1; i > -1; i--) {
+                putDigit(digits, i, buffer.getInt());
             }
-            return new UnsignedInt(digits);
-        } catch (Exception e) {
-            throw new IllegalArgumentException(e);
+        } else {
+            for (int i = 0; i < blocks; i++) {
+                putDigit(digits, i, buffer.getInt());
+            }
+            putDigit(digits, blocks, getTail(buffer, tail, ByteOrder.LITTLE_ENDIAN));
+        }
+        return wrap(digits);
+    }
+
+    // Raw little-endian limbs, a native-order view of a direct buffer is copied without any byte decoding
+    public static UnsignedInt readFrom(IntBuffer buffer, int length) {
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid length: " + length);
+        }
+        int[] digits = new int[DOUBLE_ARRAY_LENGTH];
+        int limbs = Math.min(length, ARRAY_LENGTH);
+        buffer.get(digits, 0, limbs);
+        for (int i = limbs; i < length; i++) {
+            putDigit(digits, i, buffer.get());
         }
+        return wrap(digits);
     }
 
     public static UnsignedInt valueOf(UnsignedInt number) {
         int[] digits = new int[DOUBLE_ARRAY_LENGTH];
-        arrayCopy(number.digits, digits);
-        return new UnsignedInt(digits);
+        arrayCopy(number.digits(), digits);
+        return wrap(digits);
     }
 
     public static UnsignedInt random(int bits) {
@@ -115,7 +224,7 @@ public class UnsignedInt implements Comparable<UnsignedInt> {
             digits[i] = ThreadLocalRandom.current().nextInt();
         }
         digits[blocks] = ThreadLocalRandom.current().nextInt() & ((1 << (bits / BASE)) - 1);
-        return new UnsignedInt(digits);
+        return wrap(digits);
     }
 
     public static UnsignedInt random(int bits, Random random) {
@@ -125,7 +234,7 @@ public class UnsignedInt implements Comparable<UnsignedInt> {
             digits[i] = random.nextInt();
         }
         digits[blocks] = random.nextInt() & ((1 << (bits % BASE)) - 1);
-        return new UnsignedInt(digits);
+        return wrap(digits);
     }
 
 
@@ -134,17 +243,87 @@ public class UnsignedInt implements Comparable<UnsignedInt> {
 
     @Override
     public String toString() {
-        StringBuilder builder = new StringBuilder();
-        for (int i = highestNonZeroBlock(digits); i > -1; i--) {
-            for (int j = BASE / HEXADECIMAL_BIT_LENGTH - 1; j > -1; j--) {
-                int chunk = (digits[i] >> (HEXADECIMAL_BIT_LENGTH * j)) & 0xF;
-                builder.append(Integer.toUnsignedString(chunk, RADIX));
+        int[] digits = digits();
+        int block = highestNonZeroBlock(digits);
+        int highest = digits[block];
+        int highestLength = Math.max(1, (BASE - Integer.numberOfLeadingZeros(highest) + 3) / HEXADECIMAL_BIT_LENGTH);
+
+        char[] chars = new char[block * BASE_HEXADECIMAL_LENGTH + highestLength];
+        int position = chars.length;
+        for (int i = 0; i < block; i++) {
+            position = printDigit(digits[i], BASE_HEXADECIMAL_LENGTH, chars, position);
+        }
+        printDigit(highest, highestLength, chars, position);
+        return new String(chars);
+    }
+
+    public byte[] toByteArray() {
+        return toByteArray(Math.max(byteLength(), 1));
+    }
+
+    public byte[] toByteArray(int length) {
+        return toByteArray(length, ByteOrder.BIG_ENDIAN);
+    }
+
+    public byte[] toByteArray(int length, ByteOrder order) {
+        checkFits(length);
+        byte[] bytes = new byte[length];
+        if (order == ByteOrder.BIG_ENDIAN) {
+            writeBigEndian(digits(), bytes, 0, length);
+        } else {
+            writeLittleEndian(digits(), bytes, 0, length);
+        }
+        return bytes;
+    }
+
+    public void writeTo(IntBuffer buffer, int length) {
+        int[] digits = digits();
+        if (length <= highestNonZeroBlock(digits)) {
+            throw new IllegalArgumentException("Number does not fit into " + length + " limbs");
+        }
+        if (buffer.remaining() < length) {
+            throw new IllegalArgumentException("Insufficient buffer space: " + buffer.remaining());
+        }
+        int limbs = Math.min(length, DOUBLE_ARRAY_LENGTH);
+        buffer.put(digits, 0, limbs);
+        for (int i = limbs; i < length; i++) {
+            buffer.put(0);
+        }
+    }
+
+    public void writeTo(ByteBuffer buffer, int length) {
+        checkFits(length);
+        if (buffer.remaining() < length) {
+            throw new IllegalArgumentException("Insufficient buffer space: " + buffer.remaining());
+        }
+        int[] digits = digits();
+        int blocks = length / BASE_BYTE_LENGTH;
+        int tail = length % BASE_BYTE_LENGTH;
+        if (buffer.order() == ByteOrder.BIG_ENDIAN) {
+            putTail(buffer, getDigit(digits, blocks), tail, ByteOrder.BIG_ENDIAN);
+            for (int i = blocks - 1; i > -1; i--) {
+                buffer.putInt(getDigit(digits, i));
             }
+        } else {
+            for (int i = 0; i < blocks; i++) {
+                buffer.putInt(getDigit(digits, i));
+            }
+            putTail(buffer, getDigit(digits, blocks), tail, ByteOrder.LITTLE_ENDIAN);
         }
-        while ((builder.length() > 1) && (builder.charAt(0) == '0')) {
-            builder.deleteCharAt(0);
+    }
+
+    public int[] toIntArray() {
+        int[] digits = digits();
+        return Arrays.copyOf(digits, highestNonZeroBlock(digits) + 1);
+    }
+
+    public int byteLength() {
+        if (digits == null) {
+            return (Long.SIZE - Long.numberOfLeadingZeros(small) + Byte.SIZE - 1) / Byte.SIZE;
         }
-        return builder.toString();
+        int block = highestNonZeroBlock(digits);
+        int bits = BASE - Integer.numberOfLeadingZeros(digits[block]);
+        return block * BASE_BYTE_LENGTH + (bits + Byte.SIZE - 1) / Byte.SIZE;
     }
 
     @Override
@@ -152,11 +331,17 @@ public class UnsignedInt implements Comparable<UnsignedInt> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         UnsignedInt unsignedInt = (UnsignedInt) o;
+        if (digits == null || unsignedInt.digits == null) {
+            return digits == unsignedInt.digits && small == unsignedInt.small;
+        }
         return compare(this.digits, unsignedInt.digits, ARRAY_LENGTH) == 0;
     }
 
     @Override
     public int hashCode() {
+        if (digits == null) {
+            return (int) small ^ (int) (small >>> BASE);
+        }
         int hash = 0;
         for (int i = 0; i < ARRAY_LENGTH; i++) {
             hash ^= digits[i];
@@ -166,6 +351,9 @@ public class UnsignedInt implements Comparable<UnsignedInt> {
 
     @Override
     public int compareTo(UnsignedInt o) {
+        if (digits == null || o.digits == null) {
+            return digits == null ? (o.digits == null ? Long.compare(small, o.small) : -1) : 1;
+        }
         return compare(this.digits, o.digits, ARRAY_LENGTH);
     }
 
@@ -174,91 +362,80 @@ public class UnsignedInt implements Comparable<UnsignedInt> {
 
 
     public UnsignedInt add(UnsignedInt that) {
+        if (digits == null && that.digits == null) {
+            return valueOfUnsigned(small + that.small);
+        }
         int[] result = new int[DOUBLE_ARRAY_LENGTH];
-        add(this.digits, that.digits, result);
+        add(this.digits(), that.digits(), result);
         fill(result, ARRAY_LENGTH, DOUBLE_ARRAY_LENGTH, 0);
-        return new UnsignedInt(result);
+        return wrap(result);
     }
 
     public UnsignedInt add(UnsignedInt that, UnsignedInt module) {
+        if (digits == null && that.digits == null && module.digits == null && module.small != 0) {
+            return new UnsignedInt(Long.remainderUnsigned(small + that.small, module.small));
+        }
         int[] result = new int[DOUBLE_ARRAY_LENGTH];
-        add(this.digits, that.digits, result);
-        inplaceMod(result, module.digits, new int[DOUBLE_ARRAY_LENGTH], new int[DOUBLE_ARRAY_LENGTH]);
-        return new UnsignedInt(result);
+        add(this.digits(), that.digits(), result);
+        inplaceMod(result, module.digits(), new int[DOUBLE_ARRAY_LENGTH], new int[DOUBLE_ARRAY_LENGTH]);
+        return wrap(result);
     }
 
     public UnsignedInt subtract(UnsignedInt that) {
+        if (digits == null && that.digits == null && small >= that.small) {
+            return new UnsignedInt(small - that.small);
+        }
         int[] result = new int[DOUBLE_ARRAY_LENGTH];
-        subtract(this.digits, that.digits, result);
+        subtract(this.digits(), that.digits(), result);
         fill(result, ARRAY_LENGTH, DOUBLE_ARRAY_LENGTH, 0);
-        return new UnsignedInt(result);
+        return wrap(result);
     }
 
     public UnsignedInt multiply(UnsignedInt that) {
-        int[] result = new int[DOUBLE_ARRAY_LENGTH];
-        multiply(this.digits, that.digits, result, new int[DOUBLE_ARRAY_LENGTH], new int[DOUBLE_ARRAY_LENGTH]);
-        fill(result, ARRAY_LENGTH, DOUBLE_ARRAY_LENGTH, 0);
-        return new UnsignedInt(result);
+        return BACKEND.multiply(this, that);
     }
 
     public UnsignedInt multiply(UnsignedInt that, UnsignedInt module) {
-        int[] result = new int[DOUBLE_ARRAY_LENGTH];
-        int[] firstBuffer = new int[DOUBLE_ARRAY_LENGTH];
-        int[] secondBuffer = new int[DOUBLE_ARRAY_LENGTH];
-        multiply(this.digits, that.digits, result, firstBuffer, secondBuffer);
-        inplaceMod(result, module.digits, firstBuffer, secondBuffer);
-        return new UnsignedInt(result);
+        return BACKEND.multiply(this, that, module);
     }
 
     public UnsignedInt divide(UnsignedInt that) {
-        int[] result = new int[DOUBLE_ARRAY_LENGTH];
-        divide(this.digits,
-                that.digits,
-                result,
-                new int[DOUBLE_ARRAY_LENGTH],
-                new int[DOUBLE_ARRAY_LENGTH],
-                new int[DOUBLE_ARRAY_LENGTH]
-        );
-        return new UnsignedInt(result);
+        return BACKEND.divide(this, that);
     }
 
     public UnsignedInt gcd(UnsignedInt that) {
-        int[] result = new int[DOUBLE_ARRAY_LENGTH];
-        gcd(this.digits,
-                that.digits,
-                result,
-                new int[DOUBLE_ARRAY_LENGTH],
-                new int[DOUBLE_ARRAY_LENGTH],
-                new int[DOUBLE_ARRAY_LENGTH],
-                new int[DOUBLE_ARRAY_LENGTH]
-        );
-        return new UnsignedInt(result);
+        return BACKEND.gcd(this, that);
     }
 
     public UnsignedInt mod(UnsignedInt module) {
-        int[] result = new int[DOUBLE_ARRAY_LENGTH];
-        arrayCopy(this.digits, result);
-        inplaceMod(result, module.digits, new int[DOUBLE_ARRAY_LENGTH], new int[DOUBLE_ARRAY_LENGTH]);
-        return new UnsignedInt(result);
+        return BACKEND.mod(this, module);
     }
 
     public UnsignedInt modInverse(UnsignedInt m) {
-        int[] result = new int[DOUBLE_ARRAY_LENGTH];
-        inverse(this.digits, m.digits, result);
-        return new UnsignedInt(result);
+        return BACKEND.modInverse(this, m);
     }
 
     public UnsignedInt pow(UnsignedInt exponent, UnsignedInt module) {
-        int[] result = new int[DOUBLE_ARRAY_LENGTH];
-        windowPow(this.digits,
-                exponent.digits,
-                module.digits,
-                result,
-                new int[DOUBLE_ARRAY_LENGTH],
-                new int[DOUBLE_ARRAY_LENGTH],
-                new int[DOUBLE_ARRAY_LENGTH]
-        );
-        return new UnsignedInt(result);
+        return BACKEND.pow(this, exponent, module);
+    }
+
+    public UnsignedInt pow(RecodedExponent exponent, UnsignedInt module) {
+        return BACKEND.pow(this, exponent, module);
+    }
+
+    // Against a context the caller owns, for one-shot moduli such as prime candidates that would only churn the shared cache
+    public UnsignedInt multiply(UnsignedInt that, ModulusContext context) {
+        if (BACKEND != ArithmeticBackend.NATIVE) {
+            return BACKEND.multiply(this, that, context.getModulus());
+        }
+        return montgomeryMultiply(this.digits(), that.digits(), context);
+    }
+
+    public UnsignedInt pow(RecodedExponent exponent, ModulusContext context) {
+        if (BACKEND != ArithmeticBackend.NATIVE) {
+            return BACKEND.pow(this, exponent, context.getModulus());
+        }
+        return montgomeryPow(this.digits(), exponent, context);
     }
 
     public UnsignedInt sqr() {
@@ -270,37 +447,217 @@ public class UnsignedInt implements Comparable<UnsignedInt> {
     }
 
     public UnsignedInt shiftRight(int bits) {
+        if (digits == null && bits >= 0) {
+            return bits < Long.SIZE ? new UnsignedInt(small >>> bits) : ZERO;
+        }
         int[] result = new int[DOUBLE_ARRAY_LENGTH];
-        arrayCopy(digits, result);
+        arrayCopy(digits(), result);
         shiftBitRight(result, bits);
         fill(result, ARRAY_LENGTH, DOUBLE_ARRAY_LENGTH, 0);
-        return new UnsignedInt(result);
+        return wrap(result);
     }
 
     public UnsignedInt shiftLeft(int bits) {
+        if (digits == null && bits >= 0 && (small == 0 || Long.numberOfLeadingZeros(small) > bits)) {
+            return new UnsignedInt(small << bits);
+        }
         int[] result = new int[DOUBLE_ARRAY_LENGTH];
-        arrayCopy(digits, result);
+        arrayCopy(digits(), result);
         shiftBitLeft(result, bits);
         fill(result, ARRAY_LENGTH, DOUBLE_ARRAY_LENGTH, 0);
-        return new UnsignedInt(result);
+        return wrap(result);
     }
 
     public int getBit(int position) {
-        return getBit(digits, position);
+        if (digits == null && position >= 0) {
+            return position < Long.SIZE ? (int) (small >>> position) & 1 : 0;
+        }
+        return getBit(digits(), position);
     }
 
     public UnsignedInt setBit(int bit, int position) {
+        if (digits == null && position >= 0 && position < Long.SIZE - 1) {
+            return new UnsignedInt(bit == 0 ? small & ~(1L << position) : small | (1L << position));
+        }
         int[] result = new int[DOUBLE_ARRAY_LENGTH];
-        arrayCopy(digits, result);
+        arrayCopy(digits(), result);
         setBit(result, bit, position);
         fill(result, ARRAY_LENGTH, DOUBLE_ARRAY_LENGTH, 0);
-        return new UnsignedInt(result);
+        return wrap(result);
     }
 
     public int bitLength() {
+        if (digits == null) {
+            return small == 0 ? 0 : Long.SIZE - 1 - Long.numberOfLeadingZeros(small);
+        }
         return highestNonZeroBit(digits);
     }
 
+    static ArithmeticBackend backend() {
+        return BACKEND;
+    }
+
+    public boolean fitsInLong() {
+        return digits == null;
+    }
+
+    public long longValue() {
+        if (digits != null) {
+            throw new IllegalArgumentException("Number does not fit into " + (Long.SIZE - 1) + " bits");
+        }
+        return small;
+    }
+
+
+    // <======================= Native Backend =======================>
+
+
+    // Limb implementations behind ArithmeticBackend.NATIVE, the public operations above dispatch to the backend
+    UnsignedInt nativeMultiply(UnsignedInt that) {
+        if (digits == null && that.digits == null) {
+            return valueOf128(Math.multiplyHigh(small, that.small), small * that.small);
+        }
+        int[] result = new int[DOUBLE_ARRAY_LENGTH];
+        if (isLimb(that)) {
+            multiply(digits, (int) that.small, result);
+        } else if (isLimb(this)) {
+            multiply(that.digits, (int) small, result);
+        } else {
+            multiply(this.digits(), that.digits(), result, new int[DOUBLE_ARRAY_LENGTH], new int[DOUBLE_ARRAY_LENGTH]);
+        }
+        fill(result, ARRAY_LENGTH, DOUBLE_ARRAY_LENGTH, 0);
+        return wrap(result);
+    }
+
+    UnsignedInt nativeMultiply(UnsignedInt that, UnsignedInt module) {
+        checkModulus(module);
+        if (module.digits == null && module.small != 0) {
+            return new UnsignedInt(multiplyMod(this.mod(module.small), that.mod(module.small), module.small));
+        }
+        if (isMontgomeryModulus(module.digits())) {
+            return montgomeryMultiply(this.digits(), that.digits(), ModulusCache.shared().get(module));
+        }
+        int[] result = new int[DOUBLE_ARRAY_LENGTH];
+        int[] firstBuffer = new int[DOUBLE_ARRAY_LENGTH];
+        int[] secondBuffer = new int[DOUBLE_ARRAY_LENGTH];
+        multiply(this.digits(), that.digits(), result, firstBuffer, secondBuffer);
+        inplaceMod(result, module.digits(), firstBuffer, secondBuffer);
+        return wrap(result);
+    }
+
+    UnsignedInt nativeDivide(UnsignedInt that) {
+        if (digits == null && that.digits == null && that.small != 0) {
+            return new UnsignedInt(small / that.small);
+        }
+        int[] result = new int[DOUBLE_ARRAY_LENGTH];
+        divide(this.digits(),
+                that.digits(),
+                result,
+                new int[DOUBLE_ARRAY_LENGTH],
+                new int[DOUBLE_ARRAY_LENGTH],
+                new int[DOUBLE_ARRAY_LENGTH]
+        );
+        return wrap(result);
+    }
+
+    UnsignedInt nativeGcd(UnsignedInt that) {
+        if (digits == null && that.digits == null) {
+            return new UnsignedInt(gcd(small, that.small));
+        }
+        // One Euclid step on the limbs is enough to continue with longs
+        if (that.digits == null && that.small != 0) {
+            return new UnsignedInt(gcd(that.small, this.mod(that.small)));
+        }
+        if (digits == null && small != 0) {
+            return new UnsignedInt(gcd(small, that.mod(small)));
+        }
+        int[] result = new int[DOUBLE_ARRAY_LENGTH];
+        gcd(this.digits(),
+                that.digits(),
+                result,
+                new int[DOUBLE_ARRAY_LENGTH],
+                new int[DOUBLE_ARRAY_LENGTH],
+                new int[DOUBLE_ARRAY_LENGTH],
+                new int[DOUBLE_ARRAY_LENGTH]
+        );
+        return wrap(result);
+    }
+
+    UnsignedInt nativeMod(UnsignedInt module) {
+        checkModulus(module);
+        if (module.digits == null && module.small != 0) {
+            return new UnsignedInt(mod(module.small));
+        }
+        if (compareTo(module) < 0) {
+            return this;
+        }
+        if (isMontgomeryModulus(module.digits())) {
+            return montgomeryMod(this.digits(), ModulusCache.shared().get(module));
+        }
+        int[] result = new int[DOUBLE_ARRAY_LENGTH];
+        arrayCopy(this.digits(), result);
+        inplaceMod(result, module.digits(), new int[DOUBLE_ARRAY_LENGTH], new int[DOUBLE_ARRAY_LENGTH]);
+        return wrap(result);
+    }
+
+    UnsignedInt nativeModInverse(UnsignedInt m) {
+        checkModulus(m);
+        int[] result = new int[DOUBLE_ARRAY_LENGTH];
+        inverse(this.digits(), m.digits(), result);
+        return wrap(result);
+    }
+
+    UnsignedInt nativePow(UnsignedInt exponent, UnsignedInt module) {
+        checkModulus(module);
+        if (module.digits == null && module.small != 0) {
+            return new UnsignedInt(powMod(mod(module.small), exponent, module.small));
+        }
+        int bits = isZeroArray(exponent.digits()) ? 0 : highestNonZeroBit(exponent.digits()) + 1;
+        if (bits > SHORT_EXPONENT_LENGTH || isMontgomeryModulus(module.digits())) {
+            return nativePow(RecodedExponent.of(exponent), module);
+        }
+
+        int[] result = new int[DOUBLE_ARRAY_LENGTH];
+        binaryPow(this.digits(),
+                exponent.digits(),
+                bits,
+                module.digits(),
+                result,
+                new int[DOUBLE_ARRAY_LENGTH],
+                new int[DOUBLE_ARRAY_LENGTH],
+                new int[DOUBLE_ARRAY_LENGTH],
+                new int[DOUBLE_ARRAY_LENGTH]
+        );
+        return wrap(result);
+    }
+
+    UnsignedInt nativePow(RecodedExponent exponent, UnsignedInt module) {
+        checkModulus(module);
+        if (module.digits == null && module.small != 0) {
+            return new UnsignedInt(powMod(mod(module.small), exponent.getExponent(), module.small));
+        }
+        if (isMontgomeryModulus(module.digits())) {
+            return montgomeryPow(this.digits(), exponent, ModulusCache.shared().get(module));
+        }
+        int[] result = new int[DOUBLE_ARRAY_LENGTH];
+        slidingWindowPow(this.digits(),
+                exponent,
+                module.digits(),
+                result,
+                new int[DOUBLE_ARRAY_LENGTH],
+                new int[DOUBLE_ARRAY_LENGTH],
+                new int[DOUBLE_ARRAY_LENGTH]
+        );
+        return wrap(result);
+    }
+
+    // The limb reductions never terminate on a zero modulus; zero is always compact
+    private static void checkModulus(UnsignedInt module) {
+        if (module.digits == null && module.small == 0) {
+            throw new IllegalArgumentException("Zero modulus");
+        }
+    }
+
 
     // <=================== Arithmetic Operators ===================>
 
@@ -349,6 +706,8 @@ public class UnsignedInt implements Comparable<UnsignedInt> {
     }
 
     private static void multiply(int[] x, int[] y, int[] result, int[] multBuffer, int[] addBuffer) {
+        Metrics.increment(Counter.MULTIPLY);
+
         fill(multBuffer, 0);
         fill(addBuffer, 0);
         fill(result, 0);
@@ -393,51 +752,238 @@ public class UnsignedInt implements Comparable<UnsignedInt> {
         }
     }
 
-    private static void windowPow(int[] x, int[] e, int[] m, int[] r, int[] temp, int[] firstBuffer, int[] secondBuffer) {
-        fill(temp, 0);
-        fill(firstBuffer, 0);
-        fill(secondBuffer, 0);
+    private static void binaryPow(int[] x, int[] e, int bits, int[] m, int[] r, int[] base, int[] temp, int[] firstBuffer, int[] secondBuffer) {
+        Metrics.increment(Counter.POW);
 
         uniteArray(r);
+        if (bits == 0) {
+            return;
+        }
+
+        arrayCopy(x, base);
+        inplaceMod(base, m, firstBuffer, secondBuffer);
+        arrayCopy(base, r);
 
-        int[][] powers = precomputedPowers(x, m, firstBuffer, secondBuffer);
-
-        for (int i = highestNonZeroBlock(e); i > -1; i--) {
-            for (int j = BASE / WINDOW_LEN - 1; j > -1; j--) {
-                int index = getPrecomputedIndex(e[i], j);
-                arrayCopy(r, temp);
-                multiply(temp, powers[index], r, firstBuffer, secondBuffer);
-                inplaceMod(r, m, firstBuffer, secondBuffer);
-
-                if (i + j != 0) {
-                    for (int k = 0; k < WINDOW_LEN; k++) {
-                        arrayCopy(r, temp);
-                        multiply(temp, temp, r, firstBuffer, secondBuffer);
-                        inplaceMod(r, m, firstBuffer, secondBuffer);
-                    }
-                }
+        for (int i = bits - 2; i > -1; i--) {
+            modMultiply(r, r, m, temp, firstBuffer, secondBuffer);
+            if (getBit(e, i) == 1) {
+                modMultiply(r, base, m, temp, firstBuffer, secondBuffer);
             }
         }
     }
 
-    private static int getPrecomputedIndex(int block, int shift) {
-        return (block >>> (WINDOW_LEN * shift)) & WINDOW_MASK;
+    private static void slidingWindowPow(int[] x, RecodedExponent e, int[] m, int[] r, int[] temp, int[] firstBuffer, int[] secondBuffer) {
+        Metrics.increment(Counter.POW);
+
+        uniteArray(r);
+        if (e.windowCount() == 0) {
+            return;
+        }
+
+        int[][] powers = oddPowers(x, m, e.getWidth(), r, temp, firstBuffer, secondBuffer);
+
+        arrayCopy(powers[e.window(0) >>> 1], r);
+        for (int i = 1; i < e.windowCount(); i++) {
+            for (int k = e.squarings(i); k > 0; k--) {
+                modMultiply(r, r, m, temp, firstBuffer, secondBuffer);
+            }
+            modMultiply(r, powers[e.window(i) >>> 1], m, temp, firstBuffer, secondBuffer);
+        }
+        for (int k = e.trailingSquarings(); k > 0; k--) {
+            modMultiply(r, r, m, temp, firstBuffer, secondBuffer);
+        }
     }
 
-    private static int[][] precomputedPowers(int[] x, int[] n, int[] firstBuffer, int[] secondBuffer) {
-        fill(firstBuffer, 0);
-        fill(secondBuffer, 0);
+    // powers[i] = x^(2i + 1) mod n, the only window values a sliding window recoding produces
+    private static int[][] oddPowers(int[] x, int[] n, int width, int[] square, int[] temp, int[] firstBuffer, int[] secondBuffer) {
+        int[][] powers = new int[1 << (width - 1)][DOUBLE_ARRAY_LENGTH];
+        arrayCopy(x, powers[0]);
+        inplaceMod(powers[0], n, firstBuffer, secondBuffer);
+        if (powers.length == 1) {
+            return powers;
+        }
 
-        int[][] powers = new int[PRECOMPUTED_CACHE_SIZE][DOUBLE_ARRAY_LENGTH];
-        uniteArray(powers[0]);
-        arrayCopy(x, powers[1]);
-        for (int i = 2; i < PRECOMPUTED_CACHE_SIZE; i++) {
-            multiply(x, powers[i - 1], powers[i], firstBuffer, secondBuffer);
-            inplaceMod(powers[i], n, firstBuffer, secondBuffer);
+        multiply(powers[0], powers[0], square, firstBuffer, secondBuffer);
+        inplaceMod(square, n, firstBuffer, secondBuffer);
+        for (int i = 1; i < powers.length; i++) {
+            arrayCopy(powers[i - 1], powers[i]);
+            modMultiply(powers[i], square, n, temp, firstBuffer, secondBuffer);
         }
         return powers;
     }
 
+    // x = x * y mod m, y may alias x
+    private static void modMultiply(int[] x, int[] y, int[] m, int[] temp, int[] firstBuffer, int[] secondBuffer) {
+        arrayCopy(x, temp);
+        multiply(temp, y == x ? temp : y, x, firstBuffer, secondBuffer);
+        inplaceMod(x, m, firstBuffer, secondBuffer);
+    }
+
+
+    // <===================== Compact Operators =====================>
+
+
+    static UnsignedInt valueOfUnsigned(long value) {
+        if (value >= 0) {
+            return new UnsignedInt(value);
+        }
+        int[] digits = new int[DOUBLE_ARRAY_LENGTH];
+        digits[0] = (int) value;
+        digits[1] = (int) (value >>> BASE);
+        return new UnsignedInt(digits);
+    }
+
+    private static UnsignedInt valueOf128(long high, long low) {
+        if (high == 0) {
+            return valueOfUnsigned(low);
+        }
+        int[] digits = new int[DOUBLE_ARRAY_LENGTH];
+        digits[0] = (int) low;
+        digits[1] = (int) (low >>> BASE);
+        digits[2] = (int) high;
+        digits[3] = (int) (high >>> BASE);
+        return new UnsignedInt(digits);
+    }
+
+    // A compact value that fits into a single limb, so the limb-by-scalar kernel applies
+    private static boolean isLimb(UnsignedInt x) {
+        return x.digits == null && x.small >>> BASE == 0;
+    }
+
+    private long mod(long m) {
+        if (digits == null) {
+            return small % m;
+        }
+        long r = 0;
+        for (int i = highestNonZeroBlock(digits); i > -1; i--) {
+            r = remainder(r >>> BASE, r << BASE | toUnsignedLong(digits[i]), m);
+        }
+        return r;
+    }
+
+    // x * y mod m for x, y < m < 2^63, the 126-bit product comes from Math.multiplyHigh
+    private static long multiplyMod(long x, long y, long m) {
+        return remainder(Math.multiplyHigh(x, y), x * y, m);
+    }
+
+    // (high * 2^64 + low) mod m, shift-subtract over the low word unless the high word is empty
+    private static long remainder(long high, long low, long m) {
+        if (high == 0) {
+            return Long.remainderUnsigned(low, m);
+        }
+        long r = Long.remainderUnsigned(high, m);
+        for (int i = Long.SIZE - 1; i > -1; i--) {
+            r = r << 1 | (low >>> i) & 1;
+            if (Long.compareUnsigned(r, m) >= 0) {
+                r -= m;
+            }
+        }
+        return r;
+    }
+
+    private static long powMod(long x, UnsignedInt e, long m) {
+        Metrics.increment(Counter.POW);
+
+        long r = 1 % m;
+        if (e.equals(ZERO)) {
+            return r;
+        }
+        for (int i = e.bitLength(); i > -1; i--) {
+            r = multiplyMod(r, r, m);
+            if (e.getBit(i) == 1) {
+                r = multiplyMod(r, x, m);
+            }
+        }
+        return r;
+    }
+
+    private static long gcd(long x, long y) {
+        while (y != 0) {
+            long r = x % y;
+            x = y;
+            y = r;
+        }
+        return x;
+    }
+
+
+    // <=================== Montgomery Operators ===================>
+
+
+    // Odd moduli above one reuse cached Montgomery constants instead of bit-serial reduction
+    private static boolean isMontgomeryModulus(int[] m) {
+        return (m[0] & 1) == 1 && highestNonZeroBit(m) > 0;
+    }
+
+    private static UnsignedInt montgomeryMod(int[] x, ModulusContext context) {
+        int k = context.length();
+        int[] t = new int[k + 2];
+        int[] a = new int[k];
+        context.toMontgomery(x, highestNonZeroBlock(x) + 1, a, new int[k], t);
+
+        int[] result = new int[DOUBLE_ARRAY_LENGTH];
+        context.fromMontgomery(a, result, t);
+        return wrap(result);
+    }
+
+    private static UnsignedInt montgomeryMultiply(int[] x, int[] y, ModulusContext context) {
+        int k = context.length();
+        int[] t = new int[k + 2];
+        int[] a = new int[k];
+        int[] b = new int[k];
+        context.toMontgomery(x, highestNonZeroBlock(x) + 1, a, b, t);
+
+        int[] result = new int[DOUBLE_ARRAY_LENGTH];
+        int length = highestNonZeroBlock(y) + 1;
+        if (context.isReduced(y, length)) {
+            // x * R * y / R, a reduced y needs no conversion of its own
+            context.multiply(a, y, result, t);
+        } else {
+            context.toMontgomery(y, length, b, new int[k], t);
+            context.multiply(a, b, a, t);
+            context.fromMontgomery(a, result, t);
+        }
+        return wrap(result);
+    }
+
+    private static UnsignedInt montgomeryPow(int[] x, RecodedExponent e, ModulusContext context) {
+        Metrics.increment(Counter.POW);
+
+        int[] result = new int[DOUBLE_ARRAY_LENGTH];
+        if (e.windowCount() == 0) {
+            uniteArray(result);
+            return wrap(result);
+        }
+
+        int k = context.length();
+        int[] t = new int[k + 2];
+        int[] r = new int[k];
+
+        // powers[i] = x^(2i + 1) * R mod n
+        int[][] powers = new int[1 << (e.getWidth() - 1)][k];
+        context.toMontgomery(x, highestNonZeroBlock(x) + 1, powers[0], r, t);
+        if (powers.length > 1) {
+            context.multiply(powers[0], powers[0], r, t);
+            for (int i = 1; i < powers.length; i++) {
+                context.multiply(powers[i - 1], r, powers[i], t);
+            }
+        }
+
+        System.arraycopy(powers[e.window(0) >>> 1], 0, r, 0, k);
+        for (int i = 1; i < e.windowCount(); i++) {
+            for (int j = e.squarings(i); j > 0; j--) {
+                context.multiply(r, r, r, t);
+            }
+            context.multiply(r, powers[e.window(i) >>> 1], r, t);
+        }
+        for (int j = e.trailingSquarings(); j > 0; j--) {
+            context.multiply(r, r, r, t);
+        }
+
+        context.fromMontgomery(r, result, t);
+        return wrap(result);
+    }
+
 
     // <==================== Modular Operators ====================>
 
@@ -446,8 +992,10 @@ public class UnsignedInt implements Comparable<UnsignedInt> {
         fill(shiftBuffer, 0);
         fill(subtractBuffer, 0);
 
+        int iterations = 0;
         int highestM = highestNonZeroBit(m);
         while (compare(x, m, DOUBLE_ARRAY_LENGTH) >= 0) {
+            iterations++;
             arrayCopy(m, shiftBuffer);
             int bits = highestNonZeroBit(x) - highestM;
             shiftBitLeft(shiftBuffer, bits);
@@ -459,6 +1007,7 @@ public class UnsignedInt implements Comparable<UnsignedInt> {
             subtract(x, shiftBuffer, subtractBuffer);
             arrayCopy(subtractBuffer, x);
         }
+        Metrics.increment(Counter.REDUCTION_ITERATION, iterations);
     }
 
     private static void gcd(int[] x, int[] y, int[] result, int[] a, int[] b, int[] firstBuffer, int[] secondBuffer) {
@@ -476,6 +1025,8 @@ public class UnsignedInt implements Comparable<UnsignedInt> {
     }
 
     private static void inverse(int[] x, int[] n, int[] inv) {
+        Metrics.increment(Counter.INVERSE);
+
         if (isUniteArray(x)) {
             uniteArray(inv);
             return;
@@ -571,13 +1122,7 @@ public class UnsignedInt implements Comparable<UnsignedInt> {
             return;
         }
 
-        int blockShift = bits / BASE;
-        int bitShift = bits % BASE;
-        for (int i = DOUBLE_ARRAY_LENGTH - 1; i >= 0; i--) {
-            int firstBlock = i - blockShift >= 0 ? x[i - blockShift] : 0;
-            int secondBlock = i - blockShift - 1 >= 0 ? x[i - blockShift - 1] : 0;
-            x[i] = (firstBlock << bitShift) | (secondBlock >>> (BASE - bitShift));
-        }
+        KERNELS.shiftLeft(x, DOUBLE_ARRAY_LENGTH, bits / BASE, bits % BASE);
     }
 
 
@@ -614,13 +1159,7 @@ public class UnsignedInt implements Comparable<UnsignedInt> {
             return;
         }
 
-        int blockShift = bits / BASE;
-        int bitShift = bits % BASE;
-        for (int i = 0; i < DOUBLE_ARRAY_LENGTH; i++) {
-            int firstBlock = i + blockShift < DOUBLE_ARRAY_LENGTH ? x[i + blockShift] : 0;
-            int secondBlock = i + blockShift + 1 < DOUBLE_ARRAY_LENGTH ? x[i + blockShift + 1] : 0;
-            x[i] = (firstBlock >>> bitShift) | (secondBlock << (BASE - bitShift));
-        }
+        KERNELS.shiftRight(x, DOUBLE_ARRAY_LENGTH, bits / BASE, bits % BASE);
     }
 
     private static int getBit(int[] x, int position) {
@@ -669,6 +1208,158 @@ public class UnsignedInt implements Comparable<UnsignedInt> {
     }
 
 
+    // <================= Hexadecimal Operators =================>
+
+
+    private static int parseDigit(CharSequence number, int from, int to) {
+        int digit = 0;
+        for (int i = from; i < to; i++) {
+            char c = number.charAt(i);
+            int code = c < HEXADECIMAL_CODES.length ? HEXADECIMAL_CODES[c] : -1;
+            if (code < 0) {
+                throw new IllegalArgumentException("Illegal hexadecimal character '" + c + "' at position " + i);
+            }
+            digit = (digit << HEXADECIMAL_BIT_LENGTH) | code;
+        }
+        return digit;
+    }
+
+    private static int printDigit(int digit, int length, char[] chars, int position) {
+        for (int i = 0; i < length; i++) {
+            chars[--position] = HEXADECIMAL_DIGITS[digit & 0xF];
+            digit >>>= HEXADECIMAL_BIT_LENGTH;
+        }
+        return position;
+    }
+
+
+    // <===================== Binary Operators =====================>
+
+
+    private static void readBigEndian(byte[] bytes, int offset, int length, int[] digits) {
+        int end = offset + length;
+        while (offset < end && bytes[offset] == 0) {
+            offset++;
+        }
+        checkCapacity(end - offset);
+
+        int block = 0;
+        int i = end;
+        while (i - offset >= BASE_BYTE_LENGTH) {
+            digits[block++] = (bytes[i - 4] & 0xFF) << 24
+                    | (bytes[i - 3] & 0xFF) << 16
+                    | (bytes[i - 2] & 0xFF) << 8
+                    | (bytes[i - 1] & 0xFF);
+            i -= BASE_BYTE_LENGTH;
+        }
+        int digit = 0;
+        for (int j = offset; j < i; j++) {
+            digit = (digit << Byte.SIZE) | (bytes[j] & 0xFF);
+        }
+        digits[block] = digit;
+    }
+
+    private static void readLittleEndian(byte[] bytes, int offset, int length, int[] digits) {
+        int end = offset + length;
+        while (end > offset && bytes[end - 1] == 0) {
+            end--;
+        }
+        checkCapacity(end - offset);
+
+        int block = 0;
+        int i = offset;
+        while (end - i >= BASE_BYTE_LENGTH) {
+            digits[block++] = (bytes[i] & 0xFF)
+                    | (bytes[i + 1] & 0xFF) << 8
+                    | (bytes[i + 2] & 0xFF) << 16
+                    | (bytes[i + 3] & 0xFF) << 24;
+            i += BASE_BYTE_LENGTH;
+        }
+        int digit = 0;
+        for (int j = end - 1; j >= i; j--) {
+            digit = (digit << Byte.SIZE) | (bytes[j] & 0xFF);
+        }
+        digits[block] = digit;
+    }
+
+    private static void writeBigEndian(int[] x, byte[] bytes, int offset, int length) {
+        int block = 0;
+        int i = offset + length;
+        while (i - offset >= BASE_BYTE_LENGTH) {
+            int digit = getDigit(x, block++);
+            bytes[i - 1] = (byte) digit;
+            bytes[i - 2] = (byte) (digit >>> 8);
+            bytes[i - 3] = (byte) (digit >>> 16);
+            bytes[i - 4] = (byte) (digit >>> 24);
+            i -= BASE_BYTE_LENGTH;
+        }
+        int digit = getDigit(x, block);
+        for (int j = i - 1; j >= offset; j--) {
+            bytes[j] = (byte) digit;
+            digit >>>= Byte.SIZE;
+        }
+    }
+
+    private static void writeLittleEndian(int[] x, byte[] bytes, int offset, int length) {
+        int block = 0;
+        int i = offset;
+        int end = offset + length;
+        while (end - i >= BASE_BYTE_LENGTH) {
+            int digit = getDigit(x, block++);
+            bytes[i] = (byte) digit;
+            bytes[i + 1] = (byte) (digit >>> 8);
+            bytes[i + 2] = (byte) (digit >>> 16);
+            bytes[i + 3] = (byte) (digit >>> 24);
+            i += BASE_BYTE_LENGTH;
+        }
+        int digit = getDigit(x, block);
+        for (int j = i; j < end; j++) {
+            bytes[j] = (byte) digit;
+            digit >>>= Byte.SIZE;
+        }
+    }
+
+    private static int getTail(ByteBuffer buffer, int length, ByteOrder order) {
+        int digit = 0;
+        for (int i = 0; i < length; i++) {
+            int b = buffer.get() & 0xFF;
+            digit = order == ByteOrder.BIG_ENDIAN ? (digit << Byte.SIZE) | b : digit | (b << (Byte.SIZE * i));
+        }
+        return digit;
+    }
+
+    private static void putTail(ByteBuffer buffer, int digit, int length, ByteOrder order) {
+        for (int i = 0; i < length; i++) {
+            int shift = order == ByteOrder.BIG_ENDIAN ? length - 1 - i : i;
+            buffer.put((byte) (digit >>> (Byte.SIZE * shift)));
+        }
+    }
+
+    private static int getDigit(int[] x, int block) {
+        return block < DOUBLE_ARRAY_LENGTH ? x[block] : 0;
+    }
+
+    private static void putDigit(int[] x, int block, int digit) {
+        if (block < ARRAY_LENGTH) {
+            x[block] = digit;
+        } else if (digit != 0) {
+            throw new IllegalArgumentException("Number does not fit into " + LENGTH + " bits");
+        }
+    }
+
+    private void checkFits(int length) {
+        if (length < byteLength()) {
+            throw new IllegalArgumentException("Number does not fit into " + length + " bytes");
+        }
+    }
+
+    private static void checkCapacity(int length) {
+        if (length > MAX_BYTE_LENGTH) {
+            throw new IllegalArgumentException("Number does not fit into " + LENGTH + " bits");
+        }
+    }
+
+
     // <===================== Util Operators =====================>
 
 
@@ -682,12 +1373,7 @@ public class UnsignedInt implements Comparable<UnsignedInt> {
     }
 
     private static boolean isZeroArray(int[] x) {
-        for (int i = 0; i < DOUBLE_ARRAY_LENGTH; i++) {
-            if (x[i] != 0) {
-                return false;
-            }
-        }
-        return true;
+        return KERNELS.isZero(x, DOUBLE_ARRAY_LENGTH);
     }
 
     private static boolean isUniteArray(int[] x) {
@@ -703,14 +1389,6 @@ public class UnsignedInt implements Comparable<UnsignedInt> {
     }
 
     private static int compare(int[] x, int[] y, int precision) {
-        int position = precision - 1;
-        while (position > -1 && x[position] == y[position]) {
-            position--;
-        }
-        if (position == -1) {
-            return 0;
-        } else {
-            return Integer.compareUnsigned(x[position], y[position]);
-        }
+        return KERNELS.compare(x, y, precision);
     }
 }
@@ -0,0 +1,237 @@
+package dev.flanker.asym;
+
+import dev.flanker.alg.UnsignedInt;
+import dev.flanker.asym.domain.RabinParameters;
+import dev.flanker.metrics.Counter;
+import dev.flanker.metrics.Metrics;
+import dev.flanker.metrics.Timer;
+import dev.flanker.rand.Random;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class KeyPairPool implements AutoCloseable {
+    private static final int MAGIC = 0x4B505032;
+
+    private final int capacity;
+    private final int lowWatermark;
+    private final int workers;
+
+    private final ExecutorService executor;
+    private final ThreadLocal<RabinCryptosystem> cryptosystems;
+    private final Map<Integer, Pool> pools = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refills = new LongAdder();
+    private final LongAdder refillNanos = new LongAdder();
+
+    private KeyPairPool(Supplier<Random> randoms, int capacity, int lowWatermark, int workers) {
+        if (capacity <= 0 || lowWatermark < 0 || lowWatermark > capacity || workers <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.capacity = capacity;
+        this.lowWatermark = lowWatermark;
+        this.workers = workers;
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "key-pair-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cryptosystems = ThreadLocal.withInitial(() -> new RabinCryptosystem(randoms.get()));
+    }
+
+    public static KeyPairPool create(Supplier<Random> randoms, int capacity, int lowWatermark, int workers) {
+        return new KeyPairPool(randoms, capacity, lowWatermark, workers);
+    }
+
+    public void prepare(int bitLength) {
+        pool(bitLength).fill();
+    }
+
+    public RabinParameters take(int bitLength) {
+        Pool pool = pool(bitLength);
+        RabinParameters parameters = pool.keys.poll();
+        pool.refill();
+        if (parameters != null) {
+            hits.increment();
+            Metrics.increment(Counter.KEY_POOL_HIT);
+            return parameters;
+        }
+        misses.increment();
+        Metrics.increment(Counter.KEY_POOL_MISS);
+        return cryptosystems.get().generateKeys(bitLength);
+    }
+
+    public int size(int bitLength) {
+        Pool pool = pools.get(bitLength);
+        return pool == null ? 0 : pool.keys.size();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long refills() {
+        return refills.sum();
+    }
+
+    public long refillNanos() {
+        return refillNanos.sum();
+    }
+
+    // Pooled keys are removed before being written, so a key is never both persisted and handed out
+    public int drainTo(Path path) throws IOException {
+        List<Integer> bitLengths = new ArrayList<>();
+        List<RabinParameters> drained = new ArrayList<>();
+        for (Map.Entry<Integer, Pool> entry : pools.entrySet()) {
+            RabinParameters parameters;
+            while ((parameters = entry.getValue().keys.poll()) != null) {
+                bitLengths.add(entry.getKey());
+                drained.add(parameters);
+            }
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(drained.size());
+            for (int i = 0; i < drained.size(); i++) {
+                RabinParameters parameters = drained.get(i);
+                out.writeInt(bitLengths.get(i));
+                write(out, parameters.getPrivateKey().getP());
+                write(out, parameters.getPrivateKey().getQ());
+                write(out, parameters.getPrivateKey().getB());
+                write(out, parameters.getPublicKey().getN());
+            }
+        }
+        return drained.size();
+    }
+
+    // The whole file is read and deleted before any key is offered, so a damaged or
+    // half-restored file can never hand out the same keys twice
+    public int restoreFrom(Path path) throws IOException {
+        List<Integer> bitLengths = new ArrayList<>();
+        List<RabinParameters> restored = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a key pool file: " + path);
+            }
+            int records = in.readInt();
+            if (records < 0) {
+                throw new IOException("Corrupted key pool file: " + path);
+            }
+            for (int i = 0; i < records; i++) {
+                bitLengths.add(in.readInt());
+                UnsignedInt p = read(in);
+                UnsignedInt q = read(in);
+                UnsignedInt b = read(in);
+                UnsignedInt n = read(in);
+                restored.add(RabinParameters.of(p, q, b, n));
+            }
+            if (in.read() != -1) {
+                throw new IOException("Trailing data in key pool file: " + path);
+            }
+        }
+        Files.delete(path);
+
+        int count = 0;
+        for (int i = 0; i < restored.size(); i++) {
+            if (pool(bitLengths.get(i)).keys.offer(restored.get(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private Pool pool(int bitLength) {
+        return pools.computeIfAbsent(bitLength, Pool::new);
+    }
+
+    private static void write(DataOutputStream out, UnsignedInt number) throws IOException {
+        byte[] bytes = number.toByteArray();
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static UnsignedInt read(DataInputStream in) throws IOException {
+        int length = in.readUnsignedShort();
+        if (length > UnsignedInt.LENGTH / Byte.SIZE) {
+            throw new IOException("Corrupted key pool file");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return UnsignedInt.valueOf(bytes);
+    }
+
+    private final class Pool {
+        private final int bitLength;
+        private final BlockingQueue<RabinParameters> keys = new ArrayBlockingQueue<>(capacity);
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private Pool(int bitLength) {
+            this.bitLength = bitLength;
+        }
+
+        private void refill() {
+            if (keys.size() < lowWatermark) {
+                fill();
+            }
+        }
+
+        private void fill() {
+            while (true) {
+                int current = pending.get();
+                if (current >= workers || keys.size() + current >= capacity) {
+                    return;
+                }
+                if (pending.compareAndSet(current, current + 1)) {
+                    try {
+                        executor.execute(this::generate);
+                    } catch (RejectedExecutionException e) {
+                        pending.decrementAndGet();
+                        return;
+                    }
+                }
+            }
+        }
+
+        private void generate() {
+            long start = System.nanoTime();
+            try {
+                keys.offer(cryptosystems.get().generateKeys(bitLength));
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                refills.increment();
+                refillNanos.add(elapsed);
+                Metrics.stop(Timer.KEY_POOL_REFILL, start);
+                pending.decrementAndGet();
+            }
+            fill();
+        }
+    }
+}
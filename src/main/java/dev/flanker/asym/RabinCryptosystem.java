@@ -1,14 +1,23 @@
 package dev.flanker.asym;
 
+import dev.flanker.alg.ModulusCache;
 import dev.flanker.alg.UnsignedInt;
+import dev.flanker.asym.domain.OffHeapKeyContext;
 import dev.flanker.asym.domain.RabinCiphertext;
+import dev.flanker.asym.domain.RabinKeyContext;
 import dev.flanker.asym.domain.RabinParameters;
 import dev.flanker.asym.domain.RabinPrivateKey;
 import dev.flanker.asym.domain.RabinPublicKey;
+import dev.flanker.asym.domain.RabinWilliamsSignature;
+import dev.flanker.metrics.Metrics;
+import dev.flanker.metrics.Timer;
 import dev.flanker.rand.Random;
 
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 import static dev.flanker.asym.RabinUtil.jacobiSymbol;
 import static dev.flanker.asym.RabinUtil.parityBit;
@@ -17,27 +26,54 @@ public class RabinCryptosystem {
     private static final int ROOTS_NUMBER = 4;
 
     private final Random random;
+    private final Executor executor;
 
     public RabinCryptosystem(Random random) {
+        this(random, null);
+    }
+
+    // With an executor the mod q half of decrypt and sign runs on it while the caller computes the mod p half
+    public RabinCryptosystem(Random random, Executor executor) {
         this.random = random;
+        this.executor = executor;
     }
 
     public RabinParameters generateKeys(int bitLength) {
-        UnsignedInt p, q, n, b;
-        p = RabinUtil.generateBlumePrime(bitLength >> 1, random);
-        q = RabinUtil.generateBlumePrime(bitLength >> 1, random);
-        n = p.multiply(q);
-        b = UnsignedInt.random(n.bitLength(), random).mod(n);
-        return RabinParameters.of(p, q, b, n);
+        long start = Metrics.start();
+        try {
+            UnsignedInt p, q, n, b;
+            p = RabinUtil.generateWilliamsPrime(bitLength >> 1, 3, random);
+            q = RabinUtil.generateWilliamsPrime(bitLength >> 1, 7, random);
+            n = p.multiply(q);
+            b = UnsignedInt.random(n.bitLength(), random).mod(n);
+            return RabinParameters.of(p, q, b, n);
+        } finally {
+            Metrics.stop(Timer.GENERATE_KEYS, start);
+        }
     }
 
     public RabinCiphertext encrypt(UnsignedInt m, RabinPublicKey publicKey) {
-        m = RabinUtil.formatMessage(m, publicKey.getN(), random);
+        long start = Metrics.start();
+        try {
+            return encryptFormatted(formatMessage(m, publicKey), publicKey);
+        } finally {
+            Metrics.stop(Timer.ENCRYPT, start);
+        }
+    }
+
+    byte[] randomBytes(int length) {
+        return random.generate(length);
+    }
 
+    UnsignedInt formatMessage(UnsignedInt m, RabinPublicKey publicKey) {
+        return RabinUtil.formatMessage(m, publicKey.getN(), random);
+    }
+
+    RabinCiphertext encryptFormatted(UnsignedInt m, RabinPublicKey publicKey) {
         UnsignedInt y = m.multiply(m.add(publicKey.getB(), publicKey.getN()), publicKey.getN());
 
-        UnsignedInt inverseTwo = UnsignedInt.TWO.modInverse(publicKey.getN());
-        UnsignedInt x = m.add(publicKey.getB().multiply(inverseTwo), publicKey.getN());
+        UnsignedInt inverseTwo = ModulusCache.shared().get(publicKey.getN()).getInverseOfTwo();
+        UnsignedInt x = m.add(publicKey.getB().multiply(inverseTwo, publicKey.getN()), publicKey.getN());
 
         UnsignedInt c1 = parityBit(x);
         UnsignedInt c2 = jacobiSymbol(x, publicKey.getN()) == 1 ? UnsignedInt.ONE : UnsignedInt.ZERO;
@@ -46,49 +82,188 @@ public class RabinCryptosystem {
     }
 
     public UnsignedInt decrypt(RabinCiphertext c, RabinPrivateKey privateKey) {
-        UnsignedInt p = privateKey.getP();
-        UnsignedInt q = privateKey.getQ();
-        UnsignedInt b = privateKey.getB();
+        return decrypt(c, RabinKeyContext.of(privateKey));
+    }
 
-        UnsignedInt y = c.getY();
+    public UnsignedInt decrypt(RabinCiphertext c, OffHeapKeyContext key) {
+        return decrypt(c, key.getContext());
+    }
 
-        UnsignedInt n = p.multiply(q);
-        UnsignedInt t = b.multiply(UnsignedInt.TWO.modInverse(n), n);
+    public UnsignedInt decrypt(RabinCiphertext c, RabinKeyContext context) {
+        long start = Metrics.start();
+        try {
+            return decryptRoot(c, context);
+        } finally {
+            Metrics.stop(Timer.DECRYPT, start);
+        }
+    }
 
-        UnsignedInt yp = y.add(t.sqr(n), n).pow(p.add(UnsignedInt.ONE).shiftRight(2), p);
-        UnsignedInt yq = y.add(t.sqr(n), n).pow(q.add(UnsignedInt.ONE).shiftRight(2), q);
+    private UnsignedInt decryptRoot(RabinCiphertext c, RabinKeyContext context) {
+        if (!isFlag(c.getC1()) || !isFlag(c.getC2())) {
+            return null;
+        }
 
-        List<UnsignedInt> roots = RabinUtil.composeRoots(yp, p, yq, q);
-        for (UnsignedInt root : roots) {
-            UnsignedInt c1 = parityBit(root);
-            UnsignedInt c2 = jacobiSymbol(root, n) == 1 ? UnsignedInt.ONE : UnsignedInt.ZERO;
-            if (c.getC1().equals(c1) && c.getC2().equals(c2)) {
-                UnsignedInt x = n.subtract(t).add(root).mod(n);
-                return RabinUtil.deformedMessage(x, n);
-            }
+        UnsignedInt p = context.getP();
+        UnsignedInt q = context.getQ();
+        UnsignedInt n = context.getN();
+        UnsignedInt t = context.getT();
+
+        UnsignedInt y = c.getY().add(context.getTSquare(), n);
+
+        Supplier<UnsignedInt> yq = fork(() -> y.pow(context.getQExponent(), q));
+        UnsignedInt yp = y.pow(context.getPExponent(), p);
+
+        // yp and yq are residues and -1 is not (p, q = 3 mod 4), so the root's Jacobi symbol mod n is +1
+        // exactly when it takes the same sign mod p and mod q; the parity bit then picks between r and n - r
+        UnsignedInt xq = c.getC2().equals(UnsignedInt.ONE) ? yq.get() : RabinUtil.negate(yq.get(), q);
+        UnsignedInt root = RabinUtil.composeRoot(yp, xq, context);
+        if (!parityBit(root).equals(c.getC1())) {
+            root = RabinUtil.negate(root, n);
+        }
+        if (!root.sqr(n).equals(y)) {
+            return null;
         }
-        return null;
+
+        UnsignedInt x = n.subtract(t).add(root).mod(n);
+        return RabinUtil.deformedMessage(x, n);
+    }
+
+    private static boolean isFlag(UnsignedInt x) {
+        return x.equals(UnsignedInt.ZERO) || x.equals(UnsignedInt.ONE);
     }
 
     public UnsignedInt sign(UnsignedInt x, RabinPrivateKey privateKey) {
-        UnsignedInt p = privateKey.getP();
-        UnsignedInt q = privateKey.getQ();
+        return sign(x, RabinKeyContext.of(privateKey));
+    }
 
-        UnsignedInt n = p.multiply(q);
+    public UnsignedInt sign(UnsignedInt x, OffHeapKeyContext key) {
+        return sign(x, key.getContext());
+    }
 
-        UnsignedInt formattedX = RabinUtil.formatMessage(x, n, random);
-        while (jacobiSymbol(formattedX, p) + jacobiSymbol(formattedX, q) != 2) {
-            formattedX = RabinUtil.formatMessage(x, n, random);
+    public UnsignedInt sign(UnsignedInt x, RabinKeyContext context) {
+        long start = Metrics.start();
+        try {
+            return signRoot(x, context);
+        } finally {
+            Metrics.stop(Timer.SIGN, start);
         }
+    }
+
+    private UnsignedInt signRoot(UnsignedInt x, RabinKeyContext context) {
+        UnsignedInt p = context.getP();
+        UnsignedInt q = context.getQ();
 
-        UnsignedInt xp = formattedX.pow(p.add(UnsignedInt.ONE).shiftRight(2), p);
-        UnsignedInt xq = formattedX.pow(q.add(UnsignedInt.ONE).shiftRight(2), q);
+        UnsignedInt formattedX = formatResidue(x, context);
 
-        return RabinUtil.composeRoots(xp, p, xq, q).get(ThreadLocalRandom.current().nextInt(ROOTS_NUMBER));
+        Supplier<UnsignedInt> xq = fork(() -> formattedX.pow(context.getQExponent(), q));
+        UnsignedInt xp = formattedX.pow(context.getPExponent(), p);
+
+        return RabinUtil.composeRoots(xp, xq.get(), context).get(ThreadLocalRandom.current().nextInt(ROOTS_NUMBER));
+    }
+
+    private UnsignedInt formatResidue(UnsignedInt x, RabinKeyContext context) {
+        UnsignedInt formattedX = RabinUtil.formatMessage(x, context.getN(), random);
+        while (jacobiSymbol(formattedX, context.getP()) + jacobiSymbol(formattedX, context.getQ()) != 2) {
+            formattedX = RabinUtil.formatMessage(x, context.getN(), random);
+        }
+        return formattedX;
     }
 
     public boolean verify(UnsignedInt x, UnsignedInt s, RabinPublicKey publicKey) {
-        UnsignedInt n = publicKey.getN();
-        return x.equals(RabinUtil.deformedMessage(s.pow(UnsignedInt.TWO, n), n));
+        long start = Metrics.start();
+        try {
+            UnsignedInt n = publicKey.getN();
+            return x.equals(RabinUtil.deformedMessage(s.pow(UnsignedInt.TWO, n), n));
+        } finally {
+            Metrics.stop(Timer.VERIFY, start);
+        }
+    }
+
+    public RabinWilliamsSignature signWilliams(UnsignedInt x, RabinPrivateKey privateKey) {
+        return signWilliams(x, RabinKeyContext.of(privateKey));
+    }
+
+    public RabinWilliamsSignature signWilliams(UnsignedInt x, OffHeapKeyContext key) {
+        return signWilliams(x, key.getContext());
+    }
+
+    public RabinWilliamsSignature signWilliams(UnsignedInt x, RabinKeyContext context) {
+        if (!context.isWilliams()) {
+            throw new IllegalArgumentException("Key is not a Rabin-Williams key");
+        }
+        long start = Metrics.start();
+        try {
+            return signWilliamsRoot(x, context);
+        } finally {
+            Metrics.stop(Timer.SIGN, start);
+        }
+    }
+
+    // One pass: the Legendre symbols fall out of the half-exponent powers, and e, f make e*f*h a square
+    private RabinWilliamsSignature signWilliamsRoot(UnsignedInt x, RabinKeyContext context) {
+        UnsignedInt p = context.getP();
+        UnsignedInt q = context.getQ();
+        UnsignedInt n = context.getN();
+
+        UnsignedInt h = RabinUtil.formatMessage(x, n);
+
+        Supplier<UnsignedInt> qHalf = fork(() -> h.pow(context.getQExponent(), q));
+        UnsignedInt hp = h.pow(context.getPExponent(), p);
+        boolean pResidue = hp.sqr(p).equals(h.mod(p));
+        UnsignedInt hq = qHalf.get();
+        boolean qResidue = hq.sqr(q).equals(h.mod(q));
+
+        int e = qResidue ? 1 : -1;
+        int f = pResidue == qResidue ? 1 : 2;
+
+        // (p + 1) / 4 is odd and (q + 1) / 4 is even, so e only flips the root mod p
+        UnsignedInt xp = e == 1 ? hp : RabinUtil.negate(hp, p);
+        UnsignedInt xq = hq;
+        if (f == 2) {
+            xp = xp.multiply(context.getPTwoRoot(), p);
+            xq = xq.multiply(context.getQTwoRoot(), q);
+        }
+
+        UnsignedInt s = RabinUtil.composeRoot(xp, xq, context);
+        UnsignedInt negated = RabinUtil.negate(s, n);
+        return RabinWilliamsSignature.of(s.compareTo(negated) <= 0 ? s : negated, e, f);
+    }
+
+    public boolean verify(UnsignedInt x, RabinWilliamsSignature signature, RabinPublicKey publicKey) {
+        long start = Metrics.start();
+        try {
+            UnsignedInt n = publicKey.getN();
+            if (signature.getS().compareTo(n) >= 0) {
+                return false;
+            }
+            UnsignedInt h = signature.getS().sqr(n);
+            if (signature.getF() == 2) {
+                h = RabinUtil.half(h, n);
+            }
+            if (signature.getE() == -1) {
+                h = RabinUtil.negate(h, n);
+            }
+            return h.equals(RabinUtil.formatMessage(x, n));
+        } finally {
+            Metrics.stop(Timer.VERIFY, start);
+        }
+    }
+
+    private Supplier<UnsignedInt> fork(Supplier<UnsignedInt> half) {
+        if (executor == null) {
+            UnsignedInt result = half.get();
+            return () -> result;
+        }
+        CompletableFuture<UnsignedInt> future = CompletableFuture.supplyAsync(half, executor);
+        return () -> {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        };
     }
 }
\ No newline at end of file
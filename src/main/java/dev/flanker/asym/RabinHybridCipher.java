@@ -0,0 +1,287 @@
+package dev.flanker.asym;
+
+import dev.flanker.alg.UnsignedInt;
+import dev.flanker.asym.domain.RabinCiphertext;
+import dev.flanker.asym.domain.RabinKeyContext;
+import dev.flanker.asym.domain.RabinPrivateKey;
+import dev.flanker.asym.domain.RabinPublicKey;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.security.GeneralSecurityException;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.Arrays;
+
+// Rabin encapsulates a random seed, HKDF-SHA256 turns it into an AEAD key, and the payload
+// is sealed in chunks whose nonces carry the chunk index and a final flag, so reordered,
+// dropped or truncated chunks fail authentication
+public class RabinHybridCipher {
+    public static final int DEFAULT_CHUNK_LENGTH = 64 * 1024;
+    public static final int MAX_CHUNK_LENGTH = 16 * 1024 * 1024;
+
+    private static final int MAGIC = 0x52484331;
+    private static final int HEADER_SIZE = Integer.BYTES + 1 + Integer.BYTES + Short.BYTES;
+
+    // As much seed as the modulus can carry, 128 bits at least
+    private static final int MIN_SEED_LENGTH = 16;
+    private static final int MAX_SEED_LENGTH = 32;
+    private static final int KEY_LENGTH = 32;
+    private static final int NONCE_LENGTH = 12;
+    private static final int NONCE_PREFIX_LENGTH = 7;
+    private static final int TAG_LENGTH = 16;
+    private static final long MAX_CHUNKS = 0xffffffffL;
+
+    private static final String HMAC = "HmacSHA256";
+
+    public enum Algorithm {
+        AES_GCM(1, "AES/GCM/NoPadding", "AES"),
+        CHACHA20_POLY1305(2, "ChaCha20-Poly1305", "ChaCha20");
+
+        private final int id;
+        private final String transformation;
+        private final String keyAlgorithm;
+
+        Algorithm(int id, String transformation, String keyAlgorithm) {
+            this.id = id;
+            this.transformation = transformation;
+            this.keyAlgorithm = keyAlgorithm;
+        }
+
+        private AlgorithmParameterSpec parameters(byte[] nonce) {
+            return this == AES_GCM ? new GCMParameterSpec(TAG_LENGTH * Byte.SIZE, nonce) : new IvParameterSpec(nonce);
+        }
+
+        private static Algorithm of(int id) {
+            for (Algorithm algorithm : values()) {
+                if (algorithm.id == id) {
+                    return algorithm;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final RabinCryptosystem cryptosystem;
+    private final Algorithm algorithm;
+    private final int chunkLength;
+
+    public RabinHybridCipher(RabinCryptosystem cryptosystem, Algorithm algorithm) {
+        this(cryptosystem, algorithm, DEFAULT_CHUNK_LENGTH);
+    }
+
+    public RabinHybridCipher(RabinCryptosystem cryptosystem, Algorithm algorithm, int chunkLength) {
+        if (chunkLength <= 0 || chunkLength > MAX_CHUNK_LENGTH) {
+            throw new IllegalArgumentException("Invalid chunk length: " + chunkLength);
+        }
+        this.cryptosystem = cryptosystem;
+        this.algorithm = algorithm;
+        this.chunkLength = chunkLength;
+    }
+
+    public long encrypt(InputStream in, WritableByteChannel out, RabinPublicKey publicKey) throws IOException {
+        return encrypt(Channels.newChannel(in), out, publicKey);
+    }
+
+    public long encrypt(ReadableByteChannel in, WritableByteChannel out, RabinPublicKey publicKey) throws IOException {
+        int seedLength = seedLength(publicKey.getN());
+        if (seedLength < MIN_SEED_LENGTH) {
+            throw new IllegalArgumentException("Modulus is too small to encapsulate a key");
+        }
+
+        byte[] seed = cryptosystem.randomBytes(seedLength);
+        byte[] encapsulation = cryptosystem.encrypt(UnsignedInt.valueOf(seed), publicKey).serialize();
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + encapsulation.length);
+        header.putInt(MAGIC).put((byte) algorithm.id).putInt(chunkLength).putShort((short) encapsulation.length);
+        header.put(encapsulation).flip();
+        Session session = new Session(algorithm, seed, header);
+        writeFully(out, header);
+
+        ByteBuffer plain = ByteBuffer.allocateDirect(chunkLength);
+        ByteBuffer sealed = ByteBuffer.allocateDirect(chunkLength + TAG_LENGTH);
+        long total = 0;
+        for (long index = 0; ; index++) {
+            plain.clear();
+            int length = readFully(in, plain);
+            total += length;
+
+            // A short chunk, possibly empty, ends the stream
+            boolean last = length < chunkLength;
+            plain.flip();
+            sealed.clear();
+            session.seal(index, last, plain, sealed);
+            sealed.flip();
+            writeFully(out, sealed);
+
+            if (last) {
+                return total;
+            }
+        }
+    }
+
+    public long decrypt(InputStream in, OutputStream out, RabinPrivateKey privateKey) throws IOException {
+        return decrypt(Channels.newChannel(in), Channels.newChannel(out), privateKey);
+    }
+
+    public long decrypt(ReadableByteChannel in, WritableByteChannel out, RabinPrivateKey privateKey) throws IOException {
+        return decrypt(in, out, RabinKeyContext.of(privateKey));
+    }
+
+    public long decrypt(ReadableByteChannel in, WritableByteChannel out, RabinKeyContext context) throws IOException {
+        ByteBuffer prefix = ByteBuffer.allocate(HEADER_SIZE);
+        if (readFully(in, prefix) < HEADER_SIZE) {
+            throw new EOFException("Truncated hybrid header");
+        }
+        prefix.flip();
+        Algorithm algorithm = prefix.getInt() == MAGIC ? Algorithm.of(prefix.get()) : null;
+        int chunkLength = prefix.getInt();
+        int encapsulationLength = prefix.getShort() & 0xffff;
+        if (algorithm == null || chunkLength <= 0 || chunkLength > MAX_CHUNK_LENGTH
+                || encapsulationLength < 2 || encapsulationLength > context.getN().byteLength() + 1) {
+            throw new IOException("Corrupted hybrid header");
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + encapsulationLength);
+        header.put(prefix.rewind());
+        if (readFully(in, header) < encapsulationLength) {
+            throw new EOFException("Truncated hybrid header");
+        }
+        header.flip();
+        byte[] encapsulation = Arrays.copyOfRange(header.array(), HEADER_SIZE, header.limit());
+
+        int seedLength = seedLength(context.getN());
+        UnsignedInt m = cryptosystem.decrypt(RabinCiphertext.of(encapsulation), context);
+        if (m == null || m.byteLength() > seedLength) {
+            throw new IOException("Key encapsulation cannot be decrypted");
+        }
+        Session session = new Session(algorithm, m.toByteArray(seedLength), header);
+
+        ByteBuffer sealed = ByteBuffer.allocateDirect(chunkLength + TAG_LENGTH);
+        ByteBuffer plain = ByteBuffer.allocateDirect(chunkLength);
+        long total = 0;
+        for (long index = 0; ; index++) {
+            sealed.clear();
+            int length = readFully(in, sealed);
+            if (length < TAG_LENGTH) {
+                throw new EOFException("Truncated ciphertext chunk");
+            }
+
+            boolean last = length < sealed.capacity();
+            sealed.flip();
+            plain.clear();
+            session.open(index, last, sealed, plain);
+            plain.flip();
+            total += plain.remaining();
+            writeFully(out, plain);
+
+            if (last) {
+                return total;
+            }
+        }
+    }
+
+    private static int seedLength(UnsignedInt n) {
+        return Math.min(RabinUtil.messageLength(n), MAX_SEED_LENGTH);
+    }
+
+    private static int readFully(ReadableByteChannel in, ByteBuffer buffer) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int read = in.read(buffer);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private static void writeFully(WritableByteChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    private static final class Session {
+        private final Algorithm algorithm;
+        private final Cipher cipher;
+        private final SecretKeySpec key;
+        private final byte[] nonce = new byte[NONCE_LENGTH];
+
+        // The header is bound into the derivation, so a changed algorithm or chunk length yields another key
+        private Session(Algorithm algorithm, byte[] seed, ByteBuffer header) {
+            this.algorithm = algorithm;
+            try {
+                byte[] info = new byte[header.remaining()];
+                header.duplicate().get(info);
+                byte[] salt = Arrays.copyOfRange(info, HEADER_SIZE, info.length);
+                byte[] material = hkdf(seed, salt, info, KEY_LENGTH + NONCE_PREFIX_LENGTH);
+
+                this.cipher = Cipher.getInstance(algorithm.transformation);
+                this.key = new SecretKeySpec(material, 0, KEY_LENGTH, algorithm.keyAlgorithm);
+                System.arraycopy(material, KEY_LENGTH, nonce, 0, NONCE_PREFIX_LENGTH);
+                Arrays.fill(material, (byte) 0);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(algorithm.transformation + " is not available", e);
+            }
+        }
+
+        private void seal(long index, boolean last, ByteBuffer plain, ByteBuffer sealed) throws IOException {
+            crypt(Cipher.ENCRYPT_MODE, index, last, plain, sealed);
+        }
+
+        private void open(long index, boolean last, ByteBuffer sealed, ByteBuffer plain) throws IOException {
+            crypt(Cipher.DECRYPT_MODE, index, last, sealed, plain);
+        }
+
+        private void crypt(int mode, long index, boolean last, ByteBuffer input, ByteBuffer output) throws IOException {
+            if (index > MAX_CHUNKS) {
+                throw new IOException("Payload exceeds " + MAX_CHUNKS + " chunks");
+            }
+            ByteBuffer.wrap(nonce, NONCE_PREFIX_LENGTH, Integer.BYTES).putInt((int) index);
+            nonce[NONCE_LENGTH - 1] = (byte) (last ? 1 : 0);
+            try {
+                cipher.init(mode, key, algorithm.parameters(nonce));
+                cipher.doFinal(input, output);
+            } catch (AEADBadTagException e) {
+                throw new IOException("Ciphertext chunk failed authentication", e);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        // RFC 5869 with SHA-256
+        private static byte[] hkdf(byte[] ikm, byte[] salt, byte[] info, int length) throws GeneralSecurityException {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(new SecretKeySpec(salt.length == 0 ? new byte[mac.getMacLength()] : salt, HMAC));
+            byte[] prk = mac.doFinal(ikm);
+
+            mac.init(new SecretKeySpec(prk, HMAC));
+            byte[] okm = new byte[length];
+            byte[] block = new byte[0];
+            for (int offset = 0, counter = 1; offset < length; counter++) {
+                mac.update(block);
+                mac.update(info);
+                mac.update((byte) counter);
+                block = mac.doFinal();
+                int size = Math.min(block.length, length - offset);
+                System.arraycopy(block, 0, okm, offset, size);
+                offset += size;
+            }
+            Arrays.fill(prk, (byte) 0);
+            return okm;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package dev.flanker.asym;
+
+import dev.flanker.alg.UnsignedInt;
+import dev.flanker.asym.domain.RabinKeyContext;
+import dev.flanker.asym.domain.RabinPrivateKey;
+import dev.flanker.asym.domain.RabinPublicKey;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public final class RabinKeyStore implements Closeable {
+    private static final int MAGIC = 0x524B5331;
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 64;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int NUMBER_LENGTH_OFFSET = 8;
+    private static final int CAPACITY_OFFSET = 12;
+    private static final int SIZE_OFFSET = 16;
+
+    private static final int RECORD_HEADER_SIZE = 16;
+    private static final int ID_OFFSET = 0;
+    private static final int STATE_OFFSET = 8;
+    private static final int NUMBERS_PER_RECORD = 4;
+
+    private static final int EMPTY = 0;
+    private static final int OCCUPIED = 1;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private final int numberLength;
+    private final int recordSize;
+    private final int capacity;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, RabinKeyContext> contexts;
+
+    // Bumped by every put under the write lock, a context built from an older version is not cached
+    private long version;
+
+    private RabinKeyStore(FileChannel channel, MappedByteBuffer buffer, int numberLength, int capacity, int cacheSize) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.numberLength = numberLength;
+        this.recordSize = recordSize(numberLength);
+        this.capacity = capacity;
+        this.contexts = new LruCache<>(cacheSize);
+    }
+
+    public static RabinKeyStore create(Path path, int numberLength, int capacity, int cacheSize) throws IOException {
+        if (numberLength <= 0 || capacity <= 0 || cacheSize < 0) {
+            throw new IllegalArgumentException();
+        }
+        long fileSize = HEADER_SIZE + (long) capacity * recordSize(numberLength);
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Store does not fit into a single mapping: " + fileSize);
+        }
+
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        );
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            buffer.putInt(MAGIC_OFFSET, MAGIC);
+            buffer.putInt(VERSION_OFFSET, VERSION);
+            buffer.putInt(NUMBER_LENGTH_OFFSET, numberLength);
+            buffer.putInt(CAPACITY_OFFSET, capacity);
+            buffer.putInt(SIZE_OFFSET, 0);
+            return new RabinKeyStore(channel, buffer, numberLength, capacity, cacheSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static RabinKeyStore open(Path path, int cacheSize) throws IOException {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException();
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long fileSize = Files.size(path);
+            if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Invalid key store size: " + fileSize);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            if (buffer.getInt(MAGIC_OFFSET) != MAGIC || buffer.getInt(VERSION_OFFSET) != VERSION) {
+                throw new IOException("Not a key store: " + path);
+            }
+            int numberLength = buffer.getInt(NUMBER_LENGTH_OFFSET);
+            int capacity = buffer.getInt(CAPACITY_OFFSET);
+            if (numberLength <= 0 || capacity <= 0) {
+                throw new IOException("Corrupted key store header");
+            }
+            if (fileSize != HEADER_SIZE + (long) capacity * recordSize(numberLength)) {
+                throw new IOException("Truncated key store: " + path);
+            }
+            return new RabinKeyStore(channel, buffer, numberLength, capacity, cacheSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+
+    // <======================= Public API =======================>
+
+
+    public void put(long id, RabinPrivateKey privateKey) {
+        UnsignedInt n = privateKey.getP().multiply(privateKey.getQ());
+        if (n.byteLength() > numberLength) {
+            throw new IllegalArgumentException("Key does not fit into " + numberLength + " bytes");
+        }
+
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(id);
+            if (slot < 0) {
+                throw new IllegalStateException("Key store is full");
+            }
+
+            int offset = recordOffset(slot);
+            boolean inserted = buffer.getInt(offset + STATE_OFFSET) == EMPTY;
+
+            ByteBuffer record = slice(offset + RECORD_HEADER_SIZE);
+            privateKey.getP().writeTo(record, numberLength);
+            privateKey.getQ().writeTo(record, numberLength);
+            privateKey.getB().writeTo(record, numberLength);
+            n.writeTo(record, numberLength);
+
+            buffer.putLong(offset + ID_OFFSET, id);
+            buffer.putInt(offset + STATE_OFFSET, OCCUPIED);
+            if (inserted) {
+                buffer.putInt(SIZE_OFFSET, buffer.getInt(SIZE_OFFSET) + 1);
+            }
+
+            version++;
+            synchronized (contexts) {
+                contexts.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return locate(id) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public RabinPrivateKey getPrivateKey(long id) {
+        lock.readLock().lock();
+        try {
+            return readPrivateKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public RabinPublicKey getPublicKey(long id) {
+        lock.readLock().lock();
+        try {
+            int offset = locate(id);
+            if (offset < 0) {
+                return null;
+            }
+            ByteBuffer record = slice(offset + RECORD_HEADER_SIZE + 2 * numberLength);
+            UnsignedInt b = UnsignedInt.readFrom(record, numberLength);
+            UnsignedInt n = UnsignedInt.readFrom(record, numberLength);
+            return RabinPublicKey.of(n, b);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public RabinKeyContext getContext(long id) {
+        synchronized (contexts) {
+            RabinKeyContext context = contexts.get(id);
+            if (context != null) {
+                return context;
+            }
+        }
+
+        RabinPrivateKey privateKey;
+        long readVersion;
+        lock.readLock().lock();
+        try {
+            privateKey = readPrivateKey(id);
+            readVersion = version;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (privateKey == null) {
+            return null;
+        }
+        // Built without the lock, a put meanwhile makes it stale for the cache but not for this caller
+        RabinKeyContext context = RabinKeyContext.of(privateKey);
+
+        lock.readLock().lock();
+        try {
+            if (version == readVersion) {
+                synchronized (contexts) {
+                    contexts.put(id, context);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return context;
+    }
+
+    public int size() {
+        return buffer.getInt(SIZE_OFFSET);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public void flush() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+
+    // <======================= Index =======================>
+
+
+    private RabinPrivateKey readPrivateKey(long id) {
+        int offset = locate(id);
+        if (offset < 0) {
+            return null;
+        }
+        ByteBuffer record = slice(offset + RECORD_HEADER_SIZE);
+        UnsignedInt p = UnsignedInt.readFrom(record, numberLength);
+        UnsignedInt q = UnsignedInt.readFrom(record, numberLength);
+        UnsignedInt b = UnsignedInt.readFrom(record, numberLength);
+        return RabinPrivateKey.of(p, q, b);
+    }
+
+
+    private int locate(long id) {
+        int slot = index(id);
+        for (int i = 0; i < capacity; i++) {
+            int offset = recordOffset(slot);
+            int state = buffer.getInt(offset + STATE_OFFSET);
+            if (state == EMPTY) {
+                return -1;
+            }
+            if (buffer.getLong(offset + ID_OFFSET) == id) {
+                return offset;
+            }
+            slot = next(slot);
+        }
+        return -1;
+    }
+
+    private int findSlot(long id) {
+        int slot = index(id);
+        for (int i = 0; i < capacity; i++) {
+            int offset = recordOffset(slot);
+            if (buffer.getInt(offset + STATE_OFFSET) == EMPTY || buffer.getLong(offset + ID_OFFSET) == id) {
+                return slot;
+            }
+            slot = next(slot);
+        }
+        return -1;
+    }
+
+    private int index(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) Long.remainderUnsigned(hash ^ (hash >>> 32), capacity);
+    }
+
+    private int next(int slot) {
+        return slot + 1 == capacity ? 0 : slot + 1;
+    }
+
+    private int recordOffset(int slot) {
+        return HEADER_SIZE + slot * recordSize;
+    }
+
+    private ByteBuffer slice(int offset) {
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(offset);
+        return duplicate;
+    }
+
+    private static int recordSize(int numberLength) {
+        return RECORD_HEADER_SIZE + NUMBERS_PER_RECORD * numberLength;
+    }
+}
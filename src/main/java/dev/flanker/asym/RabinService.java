@@ -0,0 +1,139 @@
+package dev.flanker.asym;
+
+import dev.flanker.alg.UnsignedInt;
+import dev.flanker.asym.domain.RabinCiphertext;
+import dev.flanker.asym.domain.RabinKeyContext;
+import dev.flanker.asym.domain.RabinPrivateKey;
+import dev.flanker.asym.domain.RabinPublicKey;
+import dev.flanker.rand.Random;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class RabinService implements AutoCloseable {
+    private final ExecutorService executor;
+    private final BlockingQueue<Worker> workers;
+    private final Semaphore permits;
+
+    private volatile boolean closed;
+
+    private RabinService(ExecutorService executor, Supplier<Random> randoms, int parallelism, int queueCapacity, int cacheSize) {
+        if (parallelism <= 0 || queueCapacity <= 0 || cacheSize < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.executor = executor;
+        this.workers = new ArrayBlockingQueue<>(parallelism);
+        this.permits = new Semaphore(queueCapacity);
+        for (int i = 0; i < parallelism; i++) {
+            workers.add(new Worker(new RabinCryptosystem(randoms.get()), cacheSize));
+        }
+    }
+
+    public static RabinService forkJoin(Supplier<Random> randoms, int parallelism, int queueCapacity, int cacheSize) {
+        return new RabinService(new ForkJoinPool(parallelism), randoms, parallelism, queueCapacity, cacheSize);
+    }
+
+    public static RabinService virtualThreads(Supplier<Random> randoms, int parallelism, int queueCapacity, int cacheSize) {
+        return new RabinService(newVirtualThreadExecutor(), randoms, parallelism, queueCapacity, cacheSize);
+    }
+
+    public CompletableFuture<RabinCiphertext> encrypt(UnsignedInt m, RabinPublicKey publicKey) {
+        return submit(worker -> worker.cryptosystem.encrypt(m, publicKey));
+    }
+
+    public CompletableFuture<UnsignedInt> decrypt(RabinCiphertext c, RabinPrivateKey privateKey) {
+        return submit(worker -> worker.cryptosystem.decrypt(c, worker.context(privateKey)));
+    }
+
+    public CompletableFuture<UnsignedInt> sign(UnsignedInt x, RabinPrivateKey privateKey) {
+        return submit(worker -> worker.cryptosystem.sign(x, worker.context(privateKey)));
+    }
+
+    public CompletableFuture<Boolean> verify(UnsignedInt x, UnsignedInt s, RabinPublicKey publicKey) {
+        return submit(worker -> worker.cryptosystem.verify(x, s, publicKey));
+    }
+
+    public int availableCapacity() {
+        return permits.availablePermits();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        executor.shutdown();
+    }
+
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this JVM", e);
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Function<Worker, T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (closed) {
+            future.completeExceptionally(new RejectedExecutionException("Service is closed"));
+            return future;
+        }
+        // Reject instead of blocking, so callers on event loops never wait for capacity
+        if (!permits.tryAcquire()) {
+            future.completeExceptionally(new RejectedExecutionException("Submission queue is full"));
+            return future;
+        }
+        try {
+            executor.execute(() -> execute(task, future));
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private <T> void execute(Function<Worker, T> task, CompletableFuture<T> future) {
+        T result;
+        try {
+            Worker worker = workers.take();
+            try {
+                result = task.apply(worker);
+            } finally {
+                workers.add(worker);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            permits.release();
+            future.completeExceptionally(e);
+            return;
+        } catch (Throwable e) {
+            permits.release();
+            future.completeExceptionally(e);
+            return;
+        }
+        permits.release();
+        future.complete(result);
+    }
+
+    private static final class Worker {
+        private final RabinCryptosystem cryptosystem;
+        private final Map<RabinPrivateKey, RabinKeyContext> contexts;
+
+        private Worker(RabinCryptosystem cryptosystem, int cacheSize) {
+            this.cryptosystem = cryptosystem;
+            this.contexts = new LruCache<>(cacheSize);
+        }
+
+        private RabinKeyContext context(RabinPrivateKey privateKey) {
+            return contexts.computeIfAbsent(privateKey, RabinKeyContext::of);
+        }
+    }
+}
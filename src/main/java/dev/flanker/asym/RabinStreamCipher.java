@@ -0,0 +1,194 @@
+package dev.flanker.asym;
+
+import dev.flanker.alg.UnsignedInt;
+import dev.flanker.asym.domain.RabinCiphertext;
+import dev.flanker.asym.domain.RabinKeyContext;
+import dev.flanker.asym.domain.RabinPrivateKey;
+import dev.flanker.asym.domain.RabinPublicKey;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+public class RabinStreamCipher {
+    private static final int LENGTH_SIZE = Integer.BYTES;
+    private static final int FLAGS_SIZE = 1;
+
+    private final RabinCryptosystem cryptosystem;
+    private final ExecutorService executor;
+    private final int window;
+
+    public RabinStreamCipher(RabinCryptosystem cryptosystem, ExecutorService executor, int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be positive: " + window);
+        }
+        this.cryptosystem = cryptosystem;
+        this.executor = executor;
+        this.window = window;
+    }
+
+    public long encrypt(InputStream in, WritableByteChannel out, RabinPublicKey publicKey) throws IOException {
+        return encrypt(Channels.newChannel(in), out, publicKey);
+    }
+
+    public long encrypt(ReadableByteChannel in, WritableByteChannel out, RabinPublicKey publicKey) throws IOException {
+        int blockLength = RabinUtil.messageLength(publicKey.getN());
+        int frameLength = frameLength(publicKey.getN());
+        if (blockLength <= 0) {
+            throw new IllegalArgumentException("Modulus is too small for streaming");
+        }
+
+        Pipeline pipeline = new Pipeline(out);
+        try {
+            long total = 0;
+            byte[] block = new byte[blockLength];
+            int length;
+            while ((length = readFully(in, ByteBuffer.wrap(block))) > 0) {
+                total += length;
+
+                // Formatting consumes the shared random, so it stays on the reading thread
+                UnsignedInt m = cryptosystem.formatMessage(UnsignedInt.valueOf(block, 0, length), publicKey);
+                int messageLength = length;
+                pipeline.submit(() -> {
+                    RabinCiphertext ciphertext = cryptosystem.encryptFormatted(m, publicKey);
+                    ByteBuffer frame = ByteBuffer.allocate(frameLength);
+                    frame.putInt(messageLength);
+                    ciphertext.writeTo(frame, frameLength - LENGTH_SIZE - FLAGS_SIZE);
+                    frame.flip();
+                    return frame;
+                });
+
+                if (length < blockLength) {
+                    break;
+                }
+            }
+            pipeline.drain();
+            return total;
+        } finally {
+            pipeline.cancel();
+        }
+    }
+
+    public long decrypt(InputStream in, OutputStream out, RabinPrivateKey privateKey) throws IOException {
+        return decrypt(Channels.newChannel(in), Channels.newChannel(out), privateKey);
+    }
+
+    public long decrypt(ReadableByteChannel in, WritableByteChannel out, RabinPrivateKey privateKey) throws IOException {
+        return decrypt(in, out, RabinKeyContext.of(privateKey));
+    }
+
+    public long decrypt(ReadableByteChannel in, WritableByteChannel out, RabinKeyContext context) throws IOException {
+        int blockLength = RabinUtil.messageLength(context.getN());
+        int frameLength = frameLength(context.getN());
+
+        Pipeline pipeline = new Pipeline(out);
+        try {
+            long total = 0;
+            while (true) {
+                ByteBuffer frame = ByteBuffer.allocate(frameLength);
+                int length = readFully(in, frame);
+                if (length == 0) {
+                    break;
+                }
+                if (length < frameLength) {
+                    throw new EOFException("Truncated ciphertext frame");
+                }
+                frame.flip();
+
+                int messageLength = frame.getInt();
+                if (messageLength <= 0 || messageLength > blockLength) {
+                    throw new IOException("Corrupted ciphertext frame");
+                }
+                total += messageLength;
+
+                pipeline.submit(() -> {
+                    RabinCiphertext ciphertext = RabinCiphertext.readFrom(frame, frameLength - LENGTH_SIZE - FLAGS_SIZE);
+                    UnsignedInt m = cryptosystem.decrypt(ciphertext, context);
+                    if (m == null) {
+                        throw new IOException("Ciphertext frame cannot be decrypted");
+                    }
+                    return ByteBuffer.wrap(m.toByteArray(messageLength));
+                });
+            }
+            pipeline.drain();
+            return total;
+        } finally {
+            pipeline.cancel();
+        }
+    }
+
+    private static int frameLength(UnsignedInt n) {
+        return LENGTH_SIZE + FLAGS_SIZE + n.byteLength();
+    }
+
+    private static int readFully(ReadableByteChannel in, ByteBuffer buffer) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int read = in.read(buffer);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private final class Pipeline {
+        private final WritableByteChannel out;
+        private final Deque<Future<ByteBuffer>> pending = new ArrayDeque<>();
+
+        private Pipeline(WritableByteChannel out) {
+            this.out = out;
+        }
+
+        private void submit(Callable<ByteBuffer> task) throws IOException {
+            if (pending.size() >= window) {
+                write(pending.removeFirst());
+            }
+            pending.addLast(executor.submit(task));
+        }
+
+        private void drain() throws IOException {
+            while (!pending.isEmpty()) {
+                write(pending.removeFirst());
+            }
+        }
+
+        private void cancel() {
+            for (Future<ByteBuffer> future : pending) {
+                future.cancel(true);
+            }
+            pending.clear();
+        }
+
+        private void write(Future<ByteBuffer> future) throws IOException {
+            ByteBuffer buffer;
+            try {
+                buffer = future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException(e.getCause());
+            }
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package dev.flanker.asym;
 
 import dev.flanker.alg.UnsignedInt;
+import dev.flanker.asym.domain.RabinKeyContext;
 import dev.flanker.rand.MillerRabinTest;
 import dev.flanker.rand.Random;
 
@@ -24,7 +25,23 @@ final class RabinUtil {
         }
     }
 
+    // p = 8k + residue is still a Blum prime for residues 3 and 7, which Rabin-Williams keys need
+    static UnsignedInt generateWilliamsPrime(int bitLength, int residue, Random generator) {
+        UnsignedInt p;
+        while(true) {
+            p = UnsignedInt.random((bitLength >>> 1) - 1, generator);
+            p = p.multiply(UnsignedInt.valueOf(8)).add(UnsignedInt.valueOf(residue));
+            if (MillerRabinTest.isPrime(p)) {
+                return p;
+            }
+        }
+    }
+
     static int jacobiSymbol(UnsignedInt x, UnsignedInt n) {
+        if (x.fitsInLong() && n.fitsInLong()) {
+            return jacobiSymbol(x.longValue(), n.longValue());
+        }
+
         if (x.equals(UnsignedInt.ONE)) {
             return 1;
         }
@@ -58,29 +75,69 @@ final class RabinUtil {
         return odd * sign * jacobiSymbol(n.mod(x), x);
     }
 
+    // Binary Jacobi on primitives for odd n, the tail of every recursion above ends up here
+    static int jacobiSymbol(long x, long n) {
+        x %= n;
+        int result = 1;
+        while (x != 0) {
+            int twos = Long.numberOfTrailingZeros(x);
+            x >>>= twos;
+            if ((twos & 1) == 1 && ((n & 7) == 3 || (n & 7) == 5)) {
+                result = -result;
+            }
+            if ((x & 3) == 3 && (n & 3) == 3) {
+                result = -result;
+            }
+            long t = n % x;
+            n = x;
+            x = t;
+        }
+        return n == 1 ? result : 0;
+    }
+
     static List<UnsignedInt> composeRoots(UnsignedInt xp, UnsignedInt p, UnsignedInt xq, UnsignedInt q) {
         UnsignedInt u = p.modInverse(q);
         UnsignedInt v = q.modInverse(p);
         UnsignedInt n = p.multiply(q);
-        
+
+        return composeRoots(xp, v.multiply(q), xq, u.multiply(p), q, n);
+    }
+
+    static List<UnsignedInt> composeRoots(UnsignedInt xp, UnsignedInt xq, RabinKeyContext context) {
+        return composeRoots(xp, context.getPCoefficient(), xq, context.getQCoefficient(), context.getQ(), context.getN());
+    }
+
+    static UnsignedInt composeRoot(UnsignedInt xp, UnsignedInt xq, RabinKeyContext context) {
+        return context.getQCoefficient()
+                .multiply(xq)
+                .add(context.getPCoefficient().multiply(xp))
+                .mod(context.getN());
+    }
+
+    private static List<UnsignedInt> composeRoots(UnsignedInt xp,
+                                                  UnsignedInt pCoefficient,
+                                                  UnsignedInt xq,
+                                                  UnsignedInt qCoefficient,
+                                                  UnsignedInt q,
+                                                  UnsignedInt n) {
         List<UnsignedInt> composedRoots = new ArrayList<>();
-        
-        UnsignedInt root = u.multiply(p)
+
+        UnsignedInt root = qCoefficient
                 .multiply(xq)
-                .add(v.multiply(q).multiply(xp))
+                .add(pCoefficient.multiply(xp))
                 .mod(n);
-        
+
         composedRoots.add(root);
         composedRoots.add(n.subtract(root));
-        
-        root = u.multiply(p)
+
+        root = qCoefficient
                 .multiply(q.subtract(xq))
-                .add(v.multiply(q).multiply(xp))
+                .add(pCoefficient.multiply(xp))
                 .mod(n);
-        
+
         composedRoots.add(root);
         composedRoots.add(n.subtract(root));
-        
+
         return composedRoots;
     }
 
@@ -91,12 +148,27 @@ final class RabinUtil {
     }
 
     static UnsignedInt formatMessage(UnsignedInt m, UnsignedInt n, Random random) {
+        return UnsignedInt.random(SHIFT, random).add(formatMessage(m, n));
+    }
+
+    static UnsignedInt formatMessage(UnsignedInt m, UnsignedInt n) {
         int byteLength = byteLength(n.bitLength());
-        return UnsignedInt.random(SHIFT, random)
-                .add(m.shiftLeft(SHIFT))
+        return m.shiftLeft(SHIFT)
                 .add(PADDING.shiftLeft(Byte.SIZE * (byteLength - 2)));
     }
 
+    static UnsignedInt half(UnsignedInt x, UnsignedInt n) {
+        return x.getBit(0) == 0 ? x.shiftRight(1) : x.add(n).shiftRight(1);
+    }
+
+    static UnsignedInt negate(UnsignedInt x, UnsignedInt n) {
+        return x.equals(UnsignedInt.ZERO) ? x : n.subtract(x);
+    }
+
+    static int messageLength(UnsignedInt n) {
+        return byteLength(n.bitLength()) - 2 - SHIFT / Byte.SIZE;
+    }
+
     static UnsignedInt parityBit(UnsignedInt x) {
         return x.getBit(0) == 0 ? UnsignedInt.ZERO : UnsignedInt.ONE;
     }
@@ -0,0 +1,147 @@
+package dev.flanker.asym.domain;
+
+import dev.flanker.alg.RecodedExponent;
+import dev.flanker.alg.UnsignedInt;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Keeps a private key and its precomputed context outside the heap, so long-lived keys
+// do not add to the old generation; contexts handed out are short-lived copies.
+// Only the off-heap copy is zeroized on close: UnsignedInt is immutable, so the heap copies
+// made per operation (and the recoded exponents, kept to skip recoding on every call)
+// are dropped rather than wiped and linger until collected
+public final class OffHeapKeyContext implements AutoCloseable {
+    private static final int P = 0;
+    private static final int Q = 1;
+    private static final int B = 2;
+    private static final int N = 3;
+    private static final int T = 4;
+    private static final int T_SQUARE = 5;
+    private static final int P_COEFFICIENT = 6;
+    private static final int Q_COEFFICIENT = 7;
+    private static final int P_TWO_ROOT = 8;
+    private static final int Q_TWO_ROOT = 9;
+    private static final int NUMBERS = 10;
+
+    private final IntBuffer limbs;
+    private final int numberLength;
+    private final boolean williams;
+
+    private RecodedExponent pExponent;
+    private RecodedExponent qExponent;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    private OffHeapKeyContext(RabinKeyContext context) {
+        // Sized by n, every stored value is below it
+        this.numberLength = context.getN().toIntArray().length;
+        this.williams = context.isWilliams();
+        this.pExponent = context.getPExponent();
+        this.qExponent = context.getQExponent();
+        this.limbs = ByteBuffer.allocateDirect(NUMBERS * numberLength * Integer.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asIntBuffer();
+
+        write(P, context.getP());
+        write(Q, context.getQ());
+        write(B, context.getB());
+        write(N, context.getN());
+        write(T, context.getT());
+        write(T_SQUARE, context.getTSquare());
+        write(P_COEFFICIENT, context.getPCoefficient());
+        write(Q_COEFFICIENT, context.getQCoefficient());
+        if (williams) {
+            write(P_TWO_ROOT, context.getPTwoRoot());
+            write(Q_TWO_ROOT, context.getQTwoRoot());
+        }
+    }
+
+    public static OffHeapKeyContext of(RabinPrivateKey privateKey) {
+        return of(RabinKeyContext.of(privateKey));
+    }
+
+    public static OffHeapKeyContext of(RabinKeyContext context) {
+        return new OffHeapKeyContext(context);
+    }
+
+    public RabinKeyContext getContext() {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            RabinPrivateKey privateKey = RabinPrivateKey.of(read(P), read(Q), read(B));
+            return new RabinKeyContext(privateKey, read(N), read(T), read(T_SQUARE),
+                    pExponent, qExponent,
+                    read(P_COEFFICIENT), read(Q_COEFFICIENT),
+                    williams ? read(P_TWO_ROOT) : null, williams ? read(Q_TWO_ROOT) : null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public RabinPublicKey getPublicKey() {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            return RabinPublicKey.of(read(N), read(B));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isWilliams() {
+        return williams;
+    }
+
+    public boolean isClosed() {
+        lock.readLock().lock();
+        try {
+            return closed;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Zeroes the key material at once, the native memory itself is released when the buffer is collected
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            for (int i = 0; i < limbs.capacity(); i++) {
+                limbs.put(i, 0);
+            }
+            pExponent = null;
+            qExponent = null;
+            closed = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void write(int index, UnsignedInt number) {
+        number.writeTo(slice(index), numberLength);
+    }
+
+    private UnsignedInt read(int index) {
+        return UnsignedInt.readFrom(slice(index), numberLength);
+    }
+
+    private IntBuffer slice(int index) {
+        IntBuffer duplicate = limbs.duplicate();
+        duplicate.position(index * numberLength);
+        return duplicate;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Key context is closed");
+        }
+    }
+}
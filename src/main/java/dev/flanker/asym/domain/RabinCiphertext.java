@@ -2,7 +2,12 @@ package dev.flanker.asym.domain;
 
 import dev.flanker.alg.UnsignedInt;
 
+import java.nio.ByteBuffer;
+
 public class RabinCiphertext {
+    private static final int C1_FLAG = 1;
+    private static final int C2_FLAG = 2;
+
     private final UnsignedInt y;
     private final UnsignedInt c1;
     private final UnsignedInt c2;
@@ -18,7 +23,18 @@ public class RabinCiphertext {
     }
 
     public static RabinCiphertext of(byte[] bytes) {
-        return null;
+        if (bytes.length < 2) {
+            throw new IllegalArgumentException("Invalid ciphertext length: " + bytes.length);
+        }
+        return readFrom(ByteBuffer.wrap(bytes), bytes.length - 1);
+    }
+
+    public static RabinCiphertext readFrom(ByteBuffer buffer, int length) {
+        int flags = buffer.get();
+        UnsignedInt y = UnsignedInt.readFrom(buffer, length);
+        UnsignedInt c1 = (flags & C1_FLAG) == 0 ? UnsignedInt.ZERO : UnsignedInt.ONE;
+        UnsignedInt c2 = (flags & C2_FLAG) == 0 ? UnsignedInt.ZERO : UnsignedInt.ONE;
+        return new RabinCiphertext(y, c1, c2);
     }
 
     public UnsignedInt getY() {
@@ -34,6 +50,15 @@ public class RabinCiphertext {
     }
 
     public byte[] serialize() {
-        return null;
+        int length = Math.max(y.byteLength(), 1);
+        ByteBuffer buffer = ByteBuffer.allocate(length + 1);
+        writeTo(buffer, length);
+        return buffer.array();
+    }
+
+    public void writeTo(ByteBuffer buffer, int length) {
+        int flags = (c1.getBit(0) == 0 ? 0 : C1_FLAG) | (c2.getBit(0) == 0 ? 0 : C2_FLAG);
+        buffer.put((byte) flags);
+        y.writeTo(buffer, length);
     }
 }
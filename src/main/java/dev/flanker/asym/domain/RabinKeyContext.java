@@ -0,0 +1,142 @@
+package dev.flanker.asym.domain;
+
+import dev.flanker.alg.ModulusCache;
+import dev.flanker.alg.RecodedExponent;
+import dev.flanker.alg.UnsignedInt;
+
+public class RabinKeyContext {
+    private final RabinPrivateKey privateKey;
+
+    private final UnsignedInt n;
+    private final UnsignedInt t;
+    private final UnsignedInt tSquare;
+
+    // Reused by every decrypt and sign, so the window recoding is done once per key
+    private final RecodedExponent pExponent;
+    private final RecodedExponent qExponent;
+
+    private final UnsignedInt pCoefficient;
+    private final UnsignedInt qCoefficient;
+
+    // Only Williams signatures need the roots of two, they are computed on first use
+    private final boolean williams;
+    private volatile UnsignedInt pTwoRoot;
+    private volatile UnsignedInt qTwoRoot;
+
+    private RabinKeyContext(RabinPrivateKey privateKey) {
+        UnsignedInt p = privateKey.getP();
+        UnsignedInt q = privateKey.getQ();
+
+        this.privateKey = privateKey;
+
+        this.n = p.multiply(q);
+        this.t = privateKey.getB().multiply(ModulusCache.shared().get(n).getInverseOfTwo(), n);
+        this.tSquare = t.sqr(n);
+
+        this.pExponent = RecodedExponent.of(p.add(UnsignedInt.ONE).shiftRight(2));
+        this.qExponent = RecodedExponent.of(q.add(UnsignedInt.ONE).shiftRight(2));
+
+        this.pCoefficient = q.modInverse(p).multiply(q);
+        this.qCoefficient = p.modInverse(q).multiply(p);
+
+        this.williams = isWilliams(p, q);
+    }
+
+    // Reassembles a context from stored values without redoing the inversions, null roots are computed on demand
+    RabinKeyContext(RabinPrivateKey privateKey, UnsignedInt n, UnsignedInt t, UnsignedInt tSquare,
+                    RecodedExponent pExponent, RecodedExponent qExponent,
+                    UnsignedInt pCoefficient, UnsignedInt qCoefficient,
+                    UnsignedInt pTwoRoot, UnsignedInt qTwoRoot) {
+        this.privateKey = privateKey;
+        this.n = n;
+        this.t = t;
+        this.tSquare = tSquare;
+        this.pExponent = pExponent;
+        this.qExponent = qExponent;
+        this.pCoefficient = pCoefficient;
+        this.qCoefficient = qCoefficient;
+        this.williams = isWilliams(privateKey.getP(), privateKey.getQ());
+        this.pTwoRoot = pTwoRoot;
+        this.qTwoRoot = qTwoRoot;
+    }
+
+    public static RabinKeyContext of(RabinPrivateKey privateKey) {
+        return new RabinKeyContext(privateKey);
+    }
+
+    public RabinPrivateKey getPrivateKey() {
+        return privateKey;
+    }
+
+    public UnsignedInt getP() {
+        return privateKey.getP();
+    }
+
+    public UnsignedInt getQ() {
+        return privateKey.getQ();
+    }
+
+    public UnsignedInt getB() {
+        return privateKey.getB();
+    }
+
+    public UnsignedInt getN() {
+        return n;
+    }
+
+    public UnsignedInt getT() {
+        return t;
+    }
+
+    public UnsignedInt getTSquare() {
+        return tSquare;
+    }
+
+    public RecodedExponent getPExponent() {
+        return pExponent;
+    }
+
+    public RecodedExponent getQExponent() {
+        return qExponent;
+    }
+
+    public UnsignedInt getPCoefficient() {
+        return pCoefficient;
+    }
+
+    public UnsignedInt getQCoefficient() {
+        return qCoefficient;
+    }
+
+    public boolean isWilliams() {
+        return williams;
+    }
+
+    // Racing first calls compute the same value, so the unsynchronized publication is harmless
+    public UnsignedInt getPTwoRoot() {
+        UnsignedInt root = pTwoRoot;
+        if (root == null && williams) {
+            root = UnsignedInt.TWO.pow(pExponent, getP());
+            pTwoRoot = root;
+        }
+        return root;
+    }
+
+    public UnsignedInt getQTwoRoot() {
+        UnsignedInt root = qTwoRoot;
+        if (root == null && williams) {
+            root = UnsignedInt.TWO.pow(qExponent, getQ());
+            qTwoRoot = root;
+        }
+        return root;
+    }
+
+    // Rabin-Williams tweaks need p = 3 (mod 8) and q = 7 (mod 8), other keys only support plain Rabin
+    private static boolean isWilliams(UnsignedInt p, UnsignedInt q) {
+        return residue(p) == 3 && residue(q) == 7;
+    }
+
+    private static int residue(UnsignedInt x) {
+        return x.getBit(0) | (x.getBit(1) << 1) | (x.getBit(2) << 2);
+    }
+}
@@ -0,0 +1,68 @@
+package dev.flanker.asym.domain;
+
+import dev.flanker.alg.UnsignedInt;
+
+import java.nio.ByteBuffer;
+
+public class RabinWilliamsSignature {
+    private static final int NEGATED_FLAG = 1;
+    private static final int DOUBLED_FLAG = 2;
+
+    private final UnsignedInt s;
+    private final int e;
+    private final int f;
+
+    private RabinWilliamsSignature(UnsignedInt s, int e, int f) {
+        if ((e != 1 && e != -1) || (f != 1 && f != 2)) {
+            throw new IllegalArgumentException("Invalid tweak factors: e = " + e + ", f = " + f);
+        }
+        this.s = s;
+        this.e = e;
+        this.f = f;
+    }
+
+    public static RabinWilliamsSignature of(UnsignedInt s, int e, int f) {
+        return new RabinWilliamsSignature(s, e, f);
+    }
+
+    public static RabinWilliamsSignature of(byte[] bytes) {
+        if (bytes.length < 2) {
+            throw new IllegalArgumentException("Invalid signature length: " + bytes.length);
+        }
+        return readFrom(ByteBuffer.wrap(bytes), bytes.length - 1);
+    }
+
+    public static RabinWilliamsSignature readFrom(ByteBuffer buffer, int length) {
+        int flags = buffer.get();
+        UnsignedInt s = UnsignedInt.readFrom(buffer, length);
+        int e = (flags & NEGATED_FLAG) == 0 ? 1 : -1;
+        int f = (flags & DOUBLED_FLAG) == 0 ? 1 : 2;
+        return new RabinWilliamsSignature(s, e, f);
+    }
+
+    public UnsignedInt getS() {
+        return s;
+    }
+
+    public int getE() {
+        return e;
+    }
+
+    public int getF() {
+        return f;
+    }
+
+    public byte[] serialize() {
+        int length = Math.max(s.byteLength(), 1);
+        ByteBuffer buffer = ByteBuffer.allocate(length + 1);
+        writeTo(buffer, length);
+        return buffer.array();
+    }
+
+    public void writeTo(ByteBuffer buffer, int length) {
+        int flags = (e == 1 ? 0 : NEGATED_FLAG) | (f == 1 ? 0 : DOUBLED_FLAG);
+        buffer.put((byte) flags);
+        s.writeTo(buffer, length);
+    }
+
+}
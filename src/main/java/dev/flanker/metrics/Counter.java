@@ -0,0 +1,13 @@
+package dev.flanker.metrics;
+
+public enum Counter {
+    MULTIPLY,
+    REDUCTION_ITERATION,
+    POW,
+    INVERSE,
+    RANDOM_BYTES,
+    KEY_POOL_HIT,
+    KEY_POOL_MISS,
+    MODULUS_CACHE_HIT,
+    MODULUS_CACHE_MISS
+}
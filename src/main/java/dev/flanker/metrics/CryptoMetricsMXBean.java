@@ -0,0 +1,15 @@
+package dev.flanker.metrics;
+
+import java.util.Map;
+
+public interface CryptoMetricsMXBean {
+    Map<String, Long> getCounters();
+
+    Map<String, Long> getTimerCounts();
+
+    Map<String, Long> getTimerTotalNanos();
+
+    Map<String, Long> getTimerMaxNanos();
+
+    void reset();
+}
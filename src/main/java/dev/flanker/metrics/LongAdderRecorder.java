@@ -0,0 +1,103 @@
+package dev.flanker.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LongAdderRecorder implements MetricsRecorder, CryptoMetricsMXBean {
+    private final LongAdder[] counters = adders(Counter.values().length);
+    private final LongAdder[] timerCounts = adders(Timer.values().length);
+    private final LongAdder[] timerTotals = adders(Timer.values().length);
+    private final LongAccumulator[] timerMaximums = new LongAccumulator[Timer.values().length];
+
+    public LongAdderRecorder() {
+        for (int i = 0; i < timerMaximums.length; i++) {
+            timerMaximums[i] = new LongAccumulator(Math::max, 0);
+        }
+    }
+
+    @Override
+    public void increment(Counter counter, long delta) {
+        counters[counter.ordinal()].add(delta);
+    }
+
+    @Override
+    public void record(Timer timer, long nanos) {
+        timerCounts[timer.ordinal()].increment();
+        timerTotals[timer.ordinal()].add(nanos);
+        timerMaximums[timer.ordinal()].accumulate(nanos);
+    }
+
+    public long count(Counter counter) {
+        return counters[counter.ordinal()].sum();
+    }
+
+    public long count(Timer timer) {
+        return timerCounts[timer.ordinal()].sum();
+    }
+
+    public long totalNanos(Timer timer) {
+        return timerTotals[timer.ordinal()].sum();
+    }
+
+    public long maxNanos(Timer timer) {
+        return timerMaximums[timer.ordinal()].get();
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (Counter counter : Counter.values()) {
+            values.put(counter.name(), count(counter));
+        }
+        return values;
+    }
+
+    @Override
+    public Map<String, Long> getTimerCounts() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (Timer timer : Timer.values()) {
+            values.put(timer.name(), count(timer));
+        }
+        return values;
+    }
+
+    @Override
+    public Map<String, Long> getTimerTotalNanos() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (Timer timer : Timer.values()) {
+            values.put(timer.name(), totalNanos(timer));
+        }
+        return values;
+    }
+
+    @Override
+    public Map<String, Long> getTimerMaxNanos() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (Timer timer : Timer.values()) {
+            values.put(timer.name(), maxNanos(timer));
+        }
+        return values;
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder adder : counters) {
+            adder.reset();
+        }
+        for (int i = 0; i < timerCounts.length; i++) {
+            timerCounts[i].reset();
+            timerTotals[i].reset();
+            timerMaximums[i].reset();
+        }
+    }
+
+    private static LongAdder[] adders(int length) {
+        LongAdder[] adders = new LongAdder[length];
+        for (int i = 0; i < length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
@@ -0,0 +1,80 @@
+package dev.flanker.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+public final class Metrics {
+    public static final String ENABLED_PROPERTY = "dev.flanker.metrics.enabled";
+    public static final String OBJECT_NAME = "dev.flanker:type=CryptoMetrics";
+
+    // Constant folded by the JIT, so disabled instrumentation compiles away
+    private static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    private static volatile MetricsRecorder recorder = loadRecorder();
+
+    private Metrics() { }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static MetricsRecorder getRecorder() {
+        return recorder;
+    }
+
+    public static void setRecorder(MetricsRecorder recorder) {
+        if (recorder == null) {
+            throw new IllegalArgumentException();
+        }
+        Metrics.recorder = recorder;
+    }
+
+    public static void increment(Counter counter) {
+        if (ENABLED) {
+            recorder.increment(counter, 1);
+        }
+    }
+
+    public static void increment(Counter counter, long delta) {
+        if (ENABLED) {
+            recorder.increment(counter, delta);
+        }
+    }
+
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    public static void stop(Timer timer, long start) {
+        if (ENABLED) {
+            recorder.record(timer, System.nanoTime() - start);
+        }
+    }
+
+    public static ObjectName registerMBean() {
+        MetricsRecorder current = recorder;
+        if (!(current instanceof CryptoMetricsMXBean)) {
+            throw new IllegalStateException("Recorder does not expose an MBean: " + current.getClass().getName());
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(current, name);
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MetricsRecorder loadRecorder() {
+        Iterator<MetricsRecorder> recorders = ServiceLoader.load(MetricsRecorder.class).iterator();
+        return recorders.hasNext() ? recorders.next() : new LongAdderRecorder();
+    }
+}
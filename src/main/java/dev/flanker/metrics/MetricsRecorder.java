@@ -0,0 +1,7 @@
+package dev.flanker.metrics;
+
+public interface MetricsRecorder {
+    void increment(Counter counter, long delta);
+
+    void record(Timer timer, long nanos);
+}
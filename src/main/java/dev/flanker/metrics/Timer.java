@@ -0,0 +1,10 @@
+package dev.flanker.metrics;
+
+public enum Timer {
+    GENERATE_KEYS,
+    ENCRYPT,
+    DECRYPT,
+    SIGN,
+    VERIFY,
+    KEY_POOL_REFILL
+}
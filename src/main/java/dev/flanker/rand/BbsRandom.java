@@ -1,6 +1,8 @@
 package dev.flanker.rand;
 
 import dev.flanker.alg.UnsignedInt;
+import dev.flanker.metrics.Counter;
+import dev.flanker.metrics.Metrics;
 
 public class BbsRandom implements Random {
     private final UnsignedInt module;
@@ -23,6 +25,7 @@ public class BbsRandom implements Random {
 
     @Override
     public void generate(byte[] bytes) {
+        Metrics.increment(Counter.RANDOM_BYTES, bytes.length);
         for (int i = 0; i < bytes.length; i++) {
             int b = 0;
             for (int j = 0; j < Byte.SIZE; j++) {
@@ -35,6 +38,7 @@ public class BbsRandom implements Random {
 
     @Override
     public int nextInt() {
+        Metrics.increment(Counter.RANDOM_BYTES, Integer.BYTES);
         int rand = 0;
         for (int i = 0; i < Integer.SIZE; i++) {
             r = r.sqr(module);
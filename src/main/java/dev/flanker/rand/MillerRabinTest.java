@@ -1,43 +1,115 @@
 package dev.flanker.rand;
 
+import dev.flanker.alg.ModulusContext;
+import dev.flanker.alg.RecodedExponent;
 import dev.flanker.alg.UnsignedInt;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 public final class MillerRabinTest {
     private static final int ITERATIONS = 32;
 
     private MillerRabinTest() {}
 
     public static boolean isPrime(UnsignedInt n) {
-        if (n.getBit(0) == 0) {
+        if (n.getBit(0) == 0 || n.equals(UnsignedInt.ONE)) {
             return false;
         }
 
-        UnsignedInt d = n.setBit(0, 0);
-
-        int r = 0;
-        while (d.getBit(0) == 0) {
-            d = d.shiftRight(1);
-            r++;
+        Candidate candidate = new Candidate(n);
+        AtomicBoolean composite = new AtomicBoolean();
+        for (int i = 0; i < ITERATIONS; i++) {
+            if (!candidate.passes(composite)) {
+                return false;
+            }
         }
+        return true;
+    }
 
-        UnsignedInt limit = n.subtract(UnsignedInt.valueOf(3));
-        UnsignedInt negativeOne = n.subtract(UnsignedInt.ONE);
+    // Rounds run concurrently, the first witness of compositeness cancels the rest
+    public static boolean isPrime(UnsignedInt n, ForkJoinPool pool) {
+        if (n.getBit(0) == 0 || n.equals(UnsignedInt.ONE)) {
+            return false;
+        }
 
-        OUTER:
+        Candidate candidate = new Candidate(n);
+        AtomicBoolean composite = new AtomicBoolean();
+        ForkJoinTask<?>[] rounds = new ForkJoinTask<?>[ITERATIONS];
         for (int i = 0; i < ITERATIONS; i++) {
+            rounds[i] = ForkJoinTask.adapt(() -> {
+                if (!candidate.passes(composite) && composite.compareAndSet(false, true)) {
+                    for (ForkJoinTask<?> round : rounds) {
+                        round.cancel(false);
+                    }
+                }
+            });
+        }
+
+        for (ForkJoinTask<?> round : rounds) {
+            pool.execute(round);
+        }
+        for (ForkJoinTask<?> round : rounds) {
+            round.quietlyJoin();
+        }
+        for (ForkJoinTask<?> round : rounds) {
+            if (round.isCompletedAbnormally() && !round.isCancelled()) {
+                Throwable e = round.getException();
+                throw e instanceof RuntimeException ? (RuntimeException) e : new IllegalStateException(e);
+            }
+        }
+        return !composite.get();
+    }
+
+    // Everything a round needs that depends only on n, computed once and shared by all rounds
+    private static final class Candidate {
+        private final UnsignedInt n;
+        // Candidates are tested once and mostly discarded, so they stay out of the shared modulus cache
+        private final ModulusContext context;
+        private final RecodedExponent d;
+        private final int r;
+        private final UnsignedInt limit;
+        private final UnsignedInt negativeOne;
+
+        private Candidate(UnsignedInt n) {
+            UnsignedInt d = n.setBit(0, 0);
+
+            int r = 0;
+            while (d.getBit(0) == 0) {
+                d = d.shiftRight(1);
+                r++;
+            }
+
+            this.n = n;
+            this.context = ModulusContext.of(n);
+            this.d = RecodedExponent.of(d);
+            this.r = r;
+            this.limit = n.subtract(UnsignedInt.valueOf(3));
+            this.negativeOne = n.subtract(UnsignedInt.ONE);
+        }
+
+        // False only when a random witness proves n composite, gives up early once another round did
+        private boolean passes(AtomicBoolean composite) {
+            if (composite.get()) {
+                return true;
+            }
+
             UnsignedInt a = UnsignedInt.random(n.bitLength()).mod(limit).add(UnsignedInt.TWO);
-            UnsignedInt x = a.pow(d, n);
+            UnsignedInt x = a.pow(d, context);
             if (x.equals(UnsignedInt.ONE) || x.equals(negativeOne)) {
-                continue;
+                return true;
             }
             for (int j = 0; j < r - 1; j++) {
-                x = x.sqr(n);
+                if (composite.get()) {
+                    return true;
+                }
+                x = x.multiply(x, context);
                 if (x.equals(negativeOne)) {
-                    continue OUTER;
+                    return true;
                 }
             }
             return false;
         }
-        return true;
     }
 }
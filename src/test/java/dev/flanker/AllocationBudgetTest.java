@@ -0,0 +1,97 @@
+package dev.flanker;
+
+import dev.flanker.alg.UnsignedInt;
+import dev.flanker.asym.RabinCryptosystem;
+import dev.flanker.asym.domain.RabinCiphertext;
+import dev.flanker.asym.domain.RabinKeyContext;
+import dev.flanker.asym.domain.RabinParameters;
+import dev.flanker.rand.BbsRandom;
+import dev.flanker.rand.Random;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class AllocationBudgetTest {
+    private static final UnsignedInt P = UnsignedInt.valueOf("D5BBB96D30086EC484EBA3D7F9CAEB07".toLowerCase());
+    private static final UnsignedInt Q = UnsignedInt.valueOf("425D2B9BFDB25B9CF6C416CC6E37B59C1F".toLowerCase());
+
+    private static final int LEN = 512;
+    private static final int WARMUP = 8;
+    private static final int ITERATIONS = 32;
+
+    private static com.sun.management.ThreadMXBean threads;
+
+    @BeforeClass
+    public static void setup() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    public void powBudget() {
+        UnsignedInt x = number(LEN);
+        UnsignedInt e = number(LEN);
+        UnsignedInt n = number(LEN);
+        assertBudget("pow", 12_000, () -> x.pow(e, n));
+    }
+
+    @Test
+    public void modularMultiplyBudget() {
+        UnsignedInt x = number(LEN);
+        UnsignedInt y = number(LEN);
+        UnsignedInt n = number(LEN);
+        assertBudget("multiply", 2_000, () -> x.multiply(y, n));
+    }
+
+    @Test
+    public void encryptBudget() {
+        RabinCryptosystem cryptosystem = new RabinCryptosystem(BbsRandom.create(P, Q, UnsignedInt.random(256)));
+        RabinParameters parameters = cryptosystem.generateKeys(LEN);
+        UnsignedInt m = UnsignedInt.random(64);
+        assertBudget("encrypt", 1_200_000, () -> cryptosystem.encrypt(m, parameters.getPublicKey()));
+    }
+
+    @Test
+    public void decryptBudget() {
+        RabinCryptosystem cryptosystem = new RabinCryptosystem(BbsRandom.create(P, Q, UnsignedInt.random(256)));
+        RabinParameters parameters = cryptosystem.generateKeys(LEN);
+        RabinKeyContext context = RabinKeyContext.of(parameters.getPrivateKey());
+        RabinCiphertext ciphertext = cryptosystem.encrypt(UnsignedInt.random(64), parameters.getPublicKey());
+        assertBudget("decrypt", 4_000_000, () -> cryptosystem.decrypt(ciphertext, context));
+    }
+
+    @Test
+    public void nextIntBudget() {
+        Random random = BbsRandom.create(P, Q, UnsignedInt.random(256));
+        assertBudget("nextInt", 60_000, random::nextInt);
+    }
+
+    private static void assertBudget(String operation, long budget, Supplier<?> supplier) {
+        for (int i = 0; i < WARMUP; i++) {
+            supplier.get();
+        }
+
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ITERATIONS; i++) {
+            supplier.get();
+        }
+        long allocated = (threads.getThreadAllocatedBytes(thread) - before) / ITERATIONS;
+
+        assertTrue(operation + " allocated " + allocated + " bytes/op, budget is " + budget, allocated <= budget);
+    }
+
+    private static UnsignedInt number(int bits) {
+        return UnsignedInt.valueOf(new BigInteger(bits, ThreadLocalRandom.current()).setBit(bits - 1).toString(16));
+    }
+}
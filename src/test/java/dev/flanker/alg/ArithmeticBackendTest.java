@@ -0,0 +1,126 @@
+package dev.flanker.alg;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.*;
+
+public class ArithmeticBackendTest {
+    private static final int ITERATIONS = 32;
+    private static final int[] LENGTHS = {8, 63, 64, 65, 256, 1024, 2048};
+
+    private static final ArithmeticBackend[] BACKENDS = {ArithmeticBackend.NATIVE, ArithmeticBackend.BIG_INTEGER};
+
+    @Test
+    public void selectionTest() {
+        String name = System.getProperty(ArithmeticBackend.BACKEND_PROPERTY, ArithmeticBackend.NATIVE.name());
+        assertEquals(name, ArithmeticBackend.current().name());
+        assertSame(ArithmeticBackend.current(), ArithmeticBackend.load());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownBackendTest() {
+        String previous = System.setProperty(ArithmeticBackend.BACKEND_PROPERTY, "abacus");
+        try {
+            ArithmeticBackend.load();
+        } finally {
+            if (previous == null) {
+                System.clearProperty(ArithmeticBackend.BACKEND_PROPERTY);
+            } else {
+                System.setProperty(ArithmeticBackend.BACKEND_PROPERTY, previous);
+            }
+        }
+    }
+
+    @Test
+    public void conversionTest() {
+        for (int length : LENGTHS) {
+            BigInteger bx = new BigInteger(length, ThreadLocalRandom.current()).setBit(length - 1);
+            UnsignedInt ux = UnsignedInt.valueOf(bx.toString(16));
+            assertEquals(bx, BigIntegerBackend.toBigInteger(ux));
+            assertEquals(ux, BigIntegerBackend.valueOf(bx));
+        }
+        assertEquals(UnsignedInt.ZERO, BigIntegerBackend.valueOf(BigInteger.ZERO));
+    }
+
+    // Both engines against BigInteger itself, so a disagreement also tells which side is wrong
+    @Test
+    public void crossCheckTest() {
+        for (ArithmeticBackend backend : BACKENDS) {
+            for (int length : LENGTHS) {
+                for (int i = 0; i < ITERATIONS / 4; i++) {
+                    BigInteger bn = new BigInteger(length, ThreadLocalRandom.current()).setBit(length - 1).setBit(0);
+                    BigInteger bx = new BigInteger(length, ThreadLocalRandom.current());
+                    BigInteger by = new BigInteger(length, ThreadLocalRandom.current()).setBit(0);
+                    BigInteger bd = new BigInteger(length / 2 + 1, ThreadLocalRandom.current()).setBit(length / 2);
+
+                    UnsignedInt un = UnsignedInt.valueOf(bn.toString(16));
+                    UnsignedInt ux = UnsignedInt.valueOf(bx.toString(16));
+                    UnsignedInt uy = UnsignedInt.valueOf(by.toString(16));
+                    UnsignedInt ud = UnsignedInt.valueOf(bd.toString(16));
+
+                    String message = backend.name() + ", " + length + " bits";
+                    assertEquals(message, truncate(bx.multiply(by)), backend.multiply(ux, uy).toString());
+                    assertEquals(message, bx.multiply(by).mod(bn).toString(16), backend.multiply(ux, uy, un).toString());
+                    assertEquals(message, bx.divide(bd).toString(16), backend.divide(ux, ud).toString());
+                    assertEquals(message, bx.mod(bd).toString(16), backend.mod(ux, ud).toString());
+                    assertEquals(message, bx.gcd(by).toString(16), backend.gcd(ux, uy).toString());
+                    assertEquals(message, bx.modPow(by, bn).toString(16), backend.pow(ux, uy, un).toString());
+                    assertEquals(message, bx.modPow(by, bn).toString(16),
+                            backend.pow(ux, RecodedExponent.of(uy), un).toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void modInverseTest() {
+        for (ArithmeticBackend backend : BACKENDS) {
+            for (int i = 0; i < ITERATIONS; i++) {
+                BigInteger bp = BigInteger.probablePrime(256, ThreadLocalRandom.current());
+                BigInteger bx = new BigInteger(255, ThreadLocalRandom.current()).setBit(0);
+
+                UnsignedInt up = UnsignedInt.valueOf(bp.toString(16));
+                UnsignedInt ux = UnsignedInt.valueOf(bx.toString(16));
+
+                assertEquals(backend.name(), bx.modInverse(bp).toString(16), backend.modInverse(ux, up).toString());
+            }
+
+            // Both engines reject what has no inverse the same way, a multiple of a factor of a composite modulus
+            BigInteger bp = BigInteger.probablePrime(256, ThreadLocalRandom.current());
+            BigInteger bq = BigInteger.probablePrime(256, ThreadLocalRandom.current());
+            UnsignedInt un = UnsignedInt.valueOf(bp.multiply(bq).toString(16));
+            UnsignedInt ux = UnsignedInt.valueOf(bp.shiftLeft(3).toString(16));
+            assertInvalid(backend, () -> backend.modInverse(ux, un));
+            assertInvalid(backend, () -> backend.modInverse(UnsignedInt.valueOf(6), UnsignedInt.valueOf(9)));
+        }
+    }
+
+    @Test
+    public void zeroModulusTest() {
+        UnsignedInt x = UnsignedInt.random(300);
+        for (ArithmeticBackend backend : BACKENDS) {
+            assertInvalid(backend, () -> backend.mod(x, UnsignedInt.ZERO));
+            assertInvalid(backend, () -> backend.multiply(x, x, UnsignedInt.ZERO));
+            assertInvalid(backend, () -> backend.pow(x, UnsignedInt.TWO, UnsignedInt.ZERO));
+            assertInvalid(backend, () -> backend.pow(x, RecodedExponent.of(x), UnsignedInt.ZERO));
+            assertInvalid(backend, () -> backend.modInverse(x, UnsignedInt.ZERO));
+            assertInvalid(backend, () -> backend.divide(x, UnsignedInt.ZERO));
+        }
+    }
+
+    private static void assertInvalid(ArithmeticBackend backend, Runnable operation) {
+        try {
+            operation.run();
+            fail(backend.name() + " accepted an invalid operand");
+        } catch (IllegalArgumentException e) {
+            // Expected from every backend
+        }
+    }
+
+    private static String truncate(BigInteger x) {
+        return x.mod(BigInteger.ONE.shiftLeft(UnsignedInt.LENGTH)).toString(16);
+    }
+}
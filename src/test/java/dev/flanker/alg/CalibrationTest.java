@@ -0,0 +1,125 @@
+package dev.flanker.alg;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class CalibrationTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void defaultProfileTest() {
+        CalibrationProfile profile = Calibration.profile();
+        assertEquals(CalibrationProfile.defaults(), profile);
+        assertEquals(3, RecodedExponent.width(UnsignedInt.valueOf(1 << 30)));
+        assertEquals(6, RecodedExponent.width(UnsignedInt.random(1024)));
+        assertEquals(profile.getToomThreshold(), ParallelMultiplier.create().getToomThreshold());
+    }
+
+    @Test
+    public void storeLoadTest() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("nested").resolve("profile.properties");
+        CalibrationProfile profile = CalibrationProfile.of(32, 512, new int[] {8, 24, 96, 320, 900});
+
+        assertNull(CalibrationProfile.load(path, Calibration.profileKey()));
+        profile.store(path, Calibration.profileKey());
+        assertEquals(profile, CalibrationProfile.load(path, Calibration.profileKey()));
+        assertEquals(profile, Calibration.resolve(Calibration.LOAD, path));
+    }
+
+    @Test
+    public void foreignKeyTest() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("profile.properties");
+        CalibrationProfile profile = CalibrationProfile.of(32, 512, new int[] {8, 24, 96, 320, 900});
+
+        // Measured on another machine, so it counts as missing
+        profile.store(path, "another machine");
+        assertNull(CalibrationProfile.load(path, Calibration.profileKey()));
+        assertEquals(profile, CalibrationProfile.load(path, "another machine"));
+        assertEquals(CalibrationProfile.defaults(), Calibration.resolve(Calibration.LOAD, path));
+
+        // Auto mode measures again and replaces it with a profile of this machine
+        CalibrationProfile calibrated = Calibration.resolve(Calibration.AUTO, path);
+        assertEquals(calibrated, CalibrationProfile.load(path, Calibration.profileKey()));
+    }
+
+    @Test
+    public void autoCalibrationTest() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("profile.properties");
+
+        CalibrationProfile calibrated = Calibration.resolve(Calibration.AUTO, path);
+        assertTrue(Files.exists(path));
+        assertEquals(calibrated, CalibrationProfile.load(path, Calibration.profileKey()));
+        // A stored profile is reused as is instead of being measured again
+        assertEquals(calibrated, Calibration.resolve(Calibration.AUTO, path));
+
+        int[] thresholds = calibrated.getWidthThresholds();
+        for (int i = 1; i < thresholds.length; i++) {
+            assertTrue(thresholds[i - 1] <= thresholds[i]);
+        }
+    }
+
+    @Test
+    public void fallbackTest() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("broken.properties");
+        assertEquals(CalibrationProfile.defaults(), Calibration.resolve(Calibration.LOAD, path));
+
+        Files.write(path, "toom.threshold=abc\n".getBytes(StandardCharsets.ISO_8859_1));
+        assertEquals(CalibrationProfile.defaults(), Calibration.resolve(Calibration.LOAD, path));
+        assertEquals(CalibrationProfile.defaults(), Calibration.resolve(Calibration.OFF, path));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownModeTest() {
+        Calibration.resolve("sometimes", folder.getRoot().toPath());
+    }
+
+    @Test
+    public void badOverridesTest() {
+        Path path = folder.getRoot().toPath().resolve("profile.properties");
+        CalibrationProfile defaults = CalibrationProfile.defaults();
+        try {
+            System.setProperty(ParallelMultiplier.PARALLEL_THRESHOLD_PROPERTY, "64");
+            System.setProperty(Calibration.WIDTH_THRESHOLDS_PROPERTY, "7,25,x");
+            CalibrationProfile profile = Calibration.resolve(Calibration.OFF, path);
+            // Clamped up to the Toom threshold like withToomThreshold does, the malformed widths are skipped
+            assertEquals(defaults.getToomThreshold(), profile.getParallelThreshold());
+            assertArrayEquals(defaults.getWidthThresholds(), profile.getWidthThresholds());
+
+            System.setProperty(ParallelMultiplier.TOOM_THRESHOLD_PROPERTY, "1");
+            assertEquals(defaults.getToomThreshold(), Calibration.resolve(Calibration.OFF, path).getToomThreshold());
+        } finally {
+            System.clearProperty(ParallelMultiplier.PARALLEL_THRESHOLD_PROPERTY);
+            System.clearProperty(ParallelMultiplier.TOOM_THRESHOLD_PROPERTY);
+            System.clearProperty(Calibration.WIDTH_THRESHOLDS_PROPERTY);
+        }
+    }
+
+    @Test
+    public void initialProfileFallbackTest() {
+        try {
+            System.setProperty(Calibration.MODE_PROPERTY, "sometimes");
+            assertEquals(CalibrationProfile.defaults(), Calibration.initialProfile());
+        } finally {
+            System.clearProperty(Calibration.MODE_PROPERTY);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decreasingThresholdsTest() {
+        CalibrationProfile.of(96, 256, new int[] {7, 25, 20, 241, 673});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invertedMultiplierThresholdsTest() {
+        CalibrationProfile.of(96, 64, RecodedExponent.DEFAULT_WIDTH_THRESHOLDS);
+    }
+}
@@ -0,0 +1,109 @@
+package dev.flanker.alg;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class FixedWidthTest {
+    private static final int ITERATIONS = 8;
+
+    @Test
+    public void uint256Test() {
+        checkMontgomery(UInt256.BITS, n -> UInt256.Montgomery.of(n)::multiply, n -> UInt256.Montgomery.of(n)::pow);
+    }
+
+    @Test
+    public void uint512Test() {
+        checkMontgomery(UInt512.BITS, n -> UInt512.Montgomery.of(n)::multiply, n -> UInt512.Montgomery.of(n)::pow);
+    }
+
+    @Test
+    public void uint1024Test() {
+        checkMontgomery(UInt1024.BITS, n -> UInt1024.Montgomery.of(n)::multiply, n -> UInt1024.Montgomery.of(n)::pow);
+    }
+
+    @Test
+    public void uint2048Test() {
+        checkMontgomery(UInt2048.BITS, n -> UInt2048.Montgomery.of(n)::multiply, n -> UInt2048.Montgomery.of(n)::pow);
+    }
+
+    @Test
+    public void shortModulusTest() {
+        BigInteger bn = BigInteger.valueOf(1_000_003);
+        BigInteger bx = new BigInteger(UInt512.BITS, ThreadLocalRandom.current());
+        BigInteger be = new BigInteger(64, ThreadLocalRandom.current());
+
+        UInt512.Montgomery montgomery = UInt512.Montgomery.of(valueOf(bn));
+        assertEquals(bx.modPow(be, bn).toString(16), montgomery.pow(valueOf(bx), valueOf(be)).toString());
+        assertEquals(UnsignedInt.ONE, montgomery.pow(valueOf(bx), UnsignedInt.ZERO));
+    }
+
+    @Test
+    public void wrappingTest() {
+        BigInteger modulus = BigInteger.ONE.shiftLeft(UInt512.BITS);
+        for (int i = 0; i < ITERATIONS; i++) {
+            BigInteger bx = new BigInteger(UInt512.BITS, ThreadLocalRandom.current());
+            BigInteger by = new BigInteger(UInt512.BITS, ThreadLocalRandom.current());
+
+            UInt512 x = UInt512.of(valueOf(bx));
+            UInt512 y = UInt512.of(valueOf(by));
+
+            assertEquals(bx.add(by).mod(modulus).toString(16), x.add(y).toString());
+            assertEquals(bx.subtract(by).mod(modulus).toString(16), x.subtract(y).toString());
+            assertEquals(bx.compareTo(by), Integer.signum(x.compareTo(y)));
+            assertEquals(x, x.add(y).subtract(y));
+        }
+    }
+
+    @Test
+    public void squareTest() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            BigInteger bx = new BigInteger(UInt256.BITS, ThreadLocalRandom.current());
+            int[] x = Arrays.copyOf(valueOf(bx).toIntArray(), UInt256.LIMBS);
+
+            int[] square = new int[2 * UInt256.LIMBS];
+            int[] product = new int[2 * UInt256.LIMBS];
+            UInt256.square(x, square);
+            UInt256.multiply(x, x, product);
+
+            assertArrayEquals(product, square);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void overflowTest() {
+        UInt256.of(UnsignedInt.ONE.shiftLeft(UInt256.BITS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void evenModulusTest() {
+        UInt256.Montgomery.of(UnsignedInt.valueOf(1 << 20));
+    }
+
+    private static void checkMontgomery(int bits,
+                                        Function<UnsignedInt, BinaryOperator<UnsignedInt>> multiply,
+                                        Function<UnsignedInt, BinaryOperator<UnsignedInt>> pow) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            BigInteger bn = new BigInteger(bits, ThreadLocalRandom.current()).setBit(bits - 1).setBit(0);
+            BigInteger bx = new BigInteger(bits, ThreadLocalRandom.current());
+            BigInteger by = new BigInteger(bits, ThreadLocalRandom.current());
+
+            UnsignedInt n = valueOf(bn);
+            UnsignedInt x = valueOf(bx);
+            UnsignedInt y = valueOf(by);
+
+            assertEquals(bx.multiply(by).mod(bn).toString(16), multiply.apply(n).apply(x, y).toString());
+            assertEquals(bx.modPow(by, bn).toString(16), pow.apply(n).apply(x, y).toString());
+        }
+    }
+
+    private static UnsignedInt valueOf(BigInteger number) {
+        return UnsignedInt.valueOf(number.toString(16));
+    }
+}
@@ -0,0 +1,70 @@
+package dev.flanker.alg;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.*;
+
+public class LimbKernelsTest {
+    private static final int ITERATIONS = 256;
+    private static final int LENGTH = 128;
+
+    private static final LimbKernels SCALAR = new ScalarLimbKernels();
+    private static final LimbKernels LOADED = LimbKernels.load();
+
+    @Test
+    public void isZeroTest() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            int length = ThreadLocalRandom.current().nextInt(1, LENGTH + 1);
+            int[] x = new int[length];
+            if (i % 2 == 1) {
+                x[ThreadLocalRandom.current().nextInt(length)] = ThreadLocalRandom.current().nextInt(1, Integer.MAX_VALUE);
+            }
+            assertEquals(SCALAR.isZero(x, length), LOADED.isZero(x, length));
+        }
+    }
+
+    @Test
+    public void compareTest() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            int length = ThreadLocalRandom.current().nextInt(1, LENGTH + 1);
+            int[] x = random(length);
+            int[] y = x.clone();
+            int position = ThreadLocalRandom.current().nextInt(length);
+            y[position] = i % 3 == 0 ? x[position] : ThreadLocalRandom.current().nextInt();
+
+            assertEquals(SCALAR.compare(x, y, length), LOADED.compare(x, y, length));
+            assertEquals(SCALAR.compare(y, x, length), LOADED.compare(y, x, length));
+        }
+    }
+
+    @Test
+    public void shiftTest() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            int length = ThreadLocalRandom.current().nextInt(1, LENGTH + 1);
+            int blockShift = ThreadLocalRandom.current().nextInt(length + 1);
+            int bitShift = ThreadLocalRandom.current().nextInt(1, Integer.SIZE);
+            int[] x = random(length);
+
+            int[] expected = x.clone();
+            int[] actual = x.clone();
+            SCALAR.shiftLeft(expected, length, blockShift, bitShift);
+            LOADED.shiftLeft(actual, length, blockShift, bitShift);
+            assertArrayEquals(expected, actual);
+
+            expected = x.clone();
+            actual = x.clone();
+            SCALAR.shiftRight(expected, length, blockShift, bitShift);
+            LOADED.shiftRight(actual, length, blockShift, bitShift);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    private static int[] random(int length) {
+        int[] x = new int[length];
+        Arrays.setAll(x, i -> ThreadLocalRandom.current().nextInt());
+        return x;
+    }
+}
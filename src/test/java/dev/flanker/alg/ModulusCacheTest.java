@@ -0,0 +1,142 @@
+package dev.flanker.alg;
+
+import dev.flanker.rand.MillerRabinTest;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.*;
+
+public class ModulusCacheTest {
+    private static final int ITERATIONS = 32;
+    private static final int[] LENGTHS = {2, 31, 32, 33, 512, 1024, 2048};
+
+    @Test
+    public void constantsTest() {
+        for (int length : LENGTHS) {
+            BigInteger bn = oddNumber(length);
+            ModulusContext context = ModulusContext.of(UnsignedInt.valueOf(bn.toString(16)));
+
+            int k = (bn.bitLength() + 31) / 32;
+            BigInteger r = BigInteger.ONE.shiftLeft(32 * k);
+            assertEquals(-1, bn.intValue() * context.getNegativeInverse());
+            assertEquals(r.multiply(r).mod(bn).toString(16), context.getRSquare().toString());
+            assertEquals(BigInteger.TWO.modInverse(bn).toString(16), context.getInverseOfTwo().toString());
+        }
+    }
+
+    @Test
+    public void montgomeryOperationsTest() {
+        for (int length : LENGTHS) {
+            for (int i = 0; i < ITERATIONS / 4; i++) {
+                BigInteger bn = oddNumber(length);
+                BigInteger bx = new BigInteger(2048, ThreadLocalRandom.current());
+                BigInteger by = new BigInteger(length, ThreadLocalRandom.current());
+                BigInteger be = new BigInteger(length, ThreadLocalRandom.current());
+
+                UnsignedInt un = UnsignedInt.valueOf(bn.toString(16));
+                UnsignedInt ux = UnsignedInt.valueOf(bx.toString(16));
+                UnsignedInt uy = UnsignedInt.valueOf(by.toString(16));
+                UnsignedInt ue = UnsignedInt.valueOf(be.toString(16));
+
+                assertEquals(bx.mod(bn).toString(16), ux.mod(un).toString());
+                assertEquals(bx.multiply(by).mod(bn).toString(16), ux.multiply(uy, un).toString());
+                assertEquals(by.multiply(bx).mod(bn).toString(16), uy.multiply(ux, un).toString());
+                assertEquals(bx.modPow(be, bn).toString(16), ux.pow(ue, un).toString());
+
+                ModulusContext context = ModulusContext.of(un);
+                assertEquals(bx.multiply(by).mod(bn).toString(16), ux.multiply(uy, context).toString());
+                assertEquals(bx.modPow(be, bn).toString(16), ux.pow(RecodedExponent.of(ue), context).toString());
+            }
+        }
+    }
+
+    @Test
+    public void boundedTest() {
+        ModulusCache cache = ModulusCache.create(32);
+        for (int i = 0; i < 256; i++) {
+            cache.get(UnsignedInt.valueOf(2 * i + 3));
+        }
+        assertTrue(cache.size() <= 32);
+        assertEquals(256, cache.misses());
+    }
+
+    @Test
+    public void hitRateTest() {
+        ModulusCache cache = ModulusCache.create(16);
+        UnsignedInt n = UnsignedInt.valueOf(oddNumber(512).toString(16));
+
+        ModulusContext context = cache.get(n);
+        for (int i = 0; i < 3; i++) {
+            assertSame(context, cache.get(n));
+        }
+        assertEquals(3, cache.hits());
+        assertEquals(1, cache.misses());
+        assertEquals(0.75, cache.hitRate(), 1e-9);
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNotSame(context, cache.get(n));
+    }
+
+    @Test
+    public void concurrentTest() throws Exception {
+        ModulusCache cache = ModulusCache.create(8);
+        List<UnsignedInt> moduli = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            moduli.add(UnsignedInt.valueOf(oddNumber(256).toString(16)));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        UnsignedInt n = moduli.get(ThreadLocalRandom.current().nextInt(moduli.size()));
+                        assertEquals(n, cache.get(n).getModulus());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(4_000, cache.hits() + cache.misses());
+    }
+
+    @Test
+    public void primeTestingBypassesCacheTest() {
+        long misses = ModulusCache.shared().misses();
+        for (int i = 0; i < ITERATIONS; i++) {
+            MillerRabinTest.isPrime(UnsignedInt.valueOf(oddNumber(512).toString(16)));
+        }
+        assertEquals(misses, ModulusCache.shared().misses());
+    }
+
+    @Test
+    public void reducedModTest() {
+        UnsignedInt n = UnsignedInt.valueOf(oddNumber(512).toString(16));
+        UnsignedInt x = n.shiftRight(1);
+        long misses = ModulusCache.shared().misses();
+        assertEquals(x, x.mod(n));
+        assertEquals(misses, ModulusCache.shared().misses());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void evenModulusTest() {
+        ModulusContext.of(UnsignedInt.valueOf(1 << 20));
+    }
+
+    private static BigInteger oddNumber(int bits) {
+        return new BigInteger(bits, ThreadLocalRandom.current()).setBit(bits - 1).setBit(0);
+    }
+}
@@ -0,0 +1,72 @@
+package dev.flanker.alg;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.*;
+
+public class ParallelMultiplierTest {
+    private static final int ITERATIONS = 8;
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @AfterClass
+    public static void shutdown() {
+        POOL.shutdown();
+    }
+
+    @Test
+    public void sequentialToomTest() {
+        check(ParallelMultiplier.create(POOL, 3, Integer.MAX_VALUE), 4096, 4096);
+    }
+
+    @Test
+    public void parallelTest() {
+        check(ParallelMultiplier.create(POOL, 8, 32), 16384, 16384);
+    }
+
+    @Test
+    public void defaultThresholdsTest() {
+        check(ParallelMultiplier.create(), 65536, 65536);
+    }
+
+    @Test
+    public void unbalancedTest() {
+        check(ParallelMultiplier.create(POOL, 4, 16), 20000, 1500);
+        check(ParallelMultiplier.create(POOL, 4, 16), 700, 9000);
+    }
+
+    @Test
+    public void zeroTest() {
+        ParallelMultiplier multiplier = ParallelMultiplier.create(POOL, 3, 3);
+        int[] x = limbs(new BigInteger(4096, ThreadLocalRandom.current()));
+        assertEquals(0, multiplier.multiply(x, new int[16]).length);
+        assertEquals(0, multiplier.multiply(new int[0], x).length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidThresholdsTest() {
+        ParallelMultiplier.create(POOL, 64, 32);
+    }
+
+    private static void check(ParallelMultiplier multiplier, int xBits, int yBits) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            BigInteger bx = new BigInteger(xBits, ThreadLocalRandom.current());
+            BigInteger by = new BigInteger(yBits, ThreadLocalRandom.current());
+
+            assertArrayEquals(limbs(bx.multiply(by)), multiplier.multiply(limbs(bx), limbs(by)));
+        }
+    }
+
+    static int[] limbs(BigInteger number) {
+        int[] limbs = new int[(number.bitLength() + 31) / 32];
+        for (int i = 0; i < limbs.length; i++) {
+            limbs[i] = number.shiftRight(32 * i).intValue();
+        }
+        return limbs;
+    }
+}
@@ -0,0 +1,65 @@
+package dev.flanker.alg;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.*;
+
+public class RecodedExponentTest {
+    private static final int ITERATIONS = 16;
+    private static final int LEN = 512;
+    private static final int MAX_WIDTH = 6;
+
+    @Test
+    public void widthTest() {
+        assertEquals(1, RecodedExponent.of(UnsignedInt.valueOf(3)).getWidth());
+        assertEquals(4, RecodedExponent.of(UnsignedInt.random(128)).getWidth());
+        assertEquals(5, RecodedExponent.of(UnsignedInt.random(LEN)).getWidth());
+        assertEquals(MAX_WIDTH, RecodedExponent.of(UnsignedInt.random(2048)).getWidth());
+    }
+
+    @Test
+    public void powTest() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            BigInteger bx = new BigInteger(LEN, ThreadLocalRandom.current());
+            BigInteger be = new BigInteger(LEN, ThreadLocalRandom.current());
+            BigInteger bn = new BigInteger(LEN, ThreadLocalRandom.current()).setBit(LEN - 1);
+
+            UnsignedInt ux = UnsignedInt.valueOf(bx.toString(16));
+            UnsignedInt ue = UnsignedInt.valueOf(be.toString(16));
+            UnsignedInt un = UnsignedInt.valueOf(bn.toString(16));
+
+            String expected = bx.modPow(be, bn).toString(16);
+            for (int width = 1; width <= MAX_WIDTH; width++) {
+                assertEquals(expected, ux.pow(RecodedExponent.of(ue, width), un).toString());
+            }
+        }
+    }
+
+    @Test
+    public void trailingZerosTest() {
+        BigInteger bx = new BigInteger(LEN, ThreadLocalRandom.current());
+        BigInteger be = new BigInteger(64, ThreadLocalRandom.current()).setBit(0).shiftLeft(37);
+        BigInteger bn = new BigInteger(LEN, ThreadLocalRandom.current()).setBit(LEN - 1);
+
+        UnsignedInt ux = UnsignedInt.valueOf(bx.toString(16));
+        UnsignedInt ue = UnsignedInt.valueOf(be.toString(16));
+        UnsignedInt un = UnsignedInt.valueOf(bn.toString(16));
+
+        assertEquals(bx.modPow(be, bn).toString(16), ux.pow(RecodedExponent.of(ue), un).toString());
+    }
+
+    @Test
+    public void zeroExponentTest() {
+        UnsignedInt x = UnsignedInt.random(LEN);
+        UnsignedInt n = UnsignedInt.random(LEN);
+        assertEquals(UnsignedInt.ONE, x.pow(RecodedExponent.of(UnsignedInt.ZERO), n));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidWidthTest() {
+        RecodedExponent.of(UnsignedInt.ONE, MAX_WIDTH + 1);
+    }
+}
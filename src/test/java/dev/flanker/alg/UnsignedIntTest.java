@@ -3,6 +3,10 @@ package dev.flanker.alg;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static org.junit.Assert.*;
@@ -23,6 +27,31 @@ public class UnsignedIntTest {
         assertEquals(number, UnsignedInt.valueOf(number).toString());
     }
 
+    @Test
+    public void upperCaseParsingTest() {
+        String number = "ABC123453265546FBDDE231423490878979";
+        assertEquals(number.toLowerCase(), UnsignedInt.valueOf(number).toString());
+        assertEquals("0", UnsignedInt.valueOf("0000").toString());
+        assertEquals("10", UnsignedInt.valueOf("00010").toString());
+    }
+
+    @Test
+    public void charSequenceParsingTest() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            BigInteger bx = new BigInteger(LEN - i, ThreadLocalRandom.current());
+            StringBuilder builder = new StringBuilder("xyz").append(bx.toString(16).toUpperCase()).append("-");
+
+            UnsignedInt ux = UnsignedInt.valueOf(builder, 3, builder.length() - 4);
+
+            assertEquals(bx.toString(16), ux.toString());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void illegalCharacterTest() {
+        UnsignedInt.valueOf("12g4");
+    }
+
     @Test
     public void compareTest() {
         String x = "ABC123453265546FBDDE231423490878979".toLowerCase();
@@ -169,6 +198,19 @@ public class UnsignedIntTest {
         }
     }
 
+    @Test
+    public void shortExponentPowTest() {
+        for (int e = 0; e < 1 << 10; e += 7) {
+            BigInteger bx = new BigInteger(LEN, ThreadLocalRandom.current());
+            BigInteger bn = new BigInteger(LEN, ThreadLocalRandom.current()).setBit(LEN - 1);
+
+            UnsignedInt ux = UnsignedInt.valueOf(bx.toString(16));
+            UnsignedInt un = UnsignedInt.valueOf(bn.toString(16));
+
+            assertEquals(bx.modPow(BigInteger.valueOf(e), bn).toString(16), ux.pow(UnsignedInt.valueOf(e), un).toString());
+        }
+    }
+
     @Test
     public void sqrTest() {
         for (int i = 0; i < ITERATIONS; i++) {
@@ -217,4 +259,176 @@ public class UnsignedIntTest {
         }
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void byteArrayTest() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            BigInteger bx = new BigInteger(LEN - i, ThreadLocalRandom.current());
+
+            UnsignedInt ux = UnsignedInt.valueOf(bx.toByteArray());
+
+            assertEquals(bx.toString(16), ux.toString());
+            assertEquals(new BigInteger(1, ux.toByteArray()), bx);
+            assertEquals(bx, new BigInteger(1, ux.toByteArray(LEN / Byte.SIZE)));
+        }
+    }
+
+    @Test
+    public void littleEndianTest() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            BigInteger bx = new BigInteger(LEN - i, ThreadLocalRandom.current());
+            UnsignedInt ux = UnsignedInt.valueOf(bx.toString(16));
+
+            byte[] bytes = ux.toByteArray(LEN / Byte.SIZE + 3, ByteOrder.LITTLE_ENDIAN);
+            byte[] reversed = bytes.clone();
+            for (int j = 0; j < bytes.length; j++) {
+                reversed[j] = bytes[bytes.length - 1 - j];
+            }
+
+            assertEquals(bx, new BigInteger(1, reversed));
+            assertEquals(ux, UnsignedInt.valueOf(bytes, 0, bytes.length, ByteOrder.LITTLE_ENDIAN));
+        }
+    }
+
+    @Test
+    public void byteBufferTest() {
+        for (ByteOrder order : Arrays.asList(ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN)) {
+            for (int i = 0; i < ITERATIONS; i++) {
+                UnsignedInt ux = UnsignedInt.valueOf(new BigInteger(LEN - i, ThreadLocalRandom.current()).toString(16));
+                int length = LEN / Byte.SIZE + i % 4;
+
+                ByteBuffer buffer = ByteBuffer.allocateDirect(length + 1).order(order);
+                buffer.put((byte) 1);
+                ux.writeTo(buffer, length);
+                assertEquals(0, buffer.remaining());
+
+                buffer.flip().get();
+                assertEquals(ux, UnsignedInt.readFrom(buffer, length));
+                assertArrayEquals(ux.toByteArray(length, order), Arrays.copyOfRange(bufferBytes(buffer), 1, length + 1));
+            }
+        }
+    }
+
+    @Test
+    public void intBufferTest() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            UnsignedInt ux = UnsignedInt.valueOf(new BigInteger(LEN - i, ThreadLocalRandom.current()).toString(16));
+            int length = LEN / Integer.SIZE + i % 4;
+
+            IntBuffer buffer = ByteBuffer.allocateDirect(Integer.BYTES * (length + 1))
+                    .order(ByteOrder.nativeOrder())
+                    .asIntBuffer();
+            buffer.put(1);
+            ux.writeTo(buffer, length);
+            assertEquals(0, buffer.remaining());
+
+            buffer.flip().get();
+            assertEquals(ux, UnsignedInt.readFrom(buffer, length));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void intBufferOverflowTest() {
+        UnsignedInt.valueOf("100000000").writeTo(IntBuffer.allocate(1), 1);
+    }
+
+    @Test
+    public void intArrayTest() {
+        UnsignedInt ux = UnsignedInt.valueOf(new BigInteger(LEN, ThreadLocalRandom.current()).toString(16));
+        assertEquals(ux, UnsignedInt.valueOf(ux.toIntArray()));
+        assertArrayEquals(new int[] {0x89abcdef, 0x1234567}, UnsignedInt.valueOf("123456789abcdef").toIntArray());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fixedWidthOverflowTest() {
+        UnsignedInt.valueOf("10000").toByteArray(2);
+    }
+
+    @Test
+    public void compactArithmeticTest() {
+        for (int i = 0; i < 16 * ITERATIONS; i++) {
+            BigInteger bx = smallNumber();
+            BigInteger by = smallNumber();
+            BigInteger bm = smallNumber().add(BigInteger.ONE);
+            int shift = ThreadLocalRandom.current().nextInt(70);
+
+            UnsignedInt ux = UnsignedInt.valueOf(bx.toString(16));
+            UnsignedInt uy = UnsignedInt.valueOf(by.toString(16));
+            UnsignedInt um = UnsignedInt.valueOf(bm.toString(16));
+
+            assertEquals(bx.add(by).toString(16), ux.add(uy).toString());
+            assertEquals(bx.add(by).mod(bm).toString(16), ux.add(uy, um).toString());
+            assertEquals(bx.add(by).subtract(by).toString(16), ux.add(uy).subtract(uy).toString());
+            assertEquals(bx.multiply(by).toString(16), ux.multiply(uy).toString());
+            assertEquals(bx.multiply(by).mod(bm).toString(16), ux.multiply(uy, um).toString());
+            assertEquals(bx.divide(bm).toString(16), ux.divide(um).toString());
+            assertEquals(bx.mod(bm).toString(16), ux.mod(um).toString());
+            assertEquals(bx.gcd(by).toString(16), ux.gcd(uy).toString());
+            assertEquals(bx.modPow(by, bm).toString(16), ux.pow(uy, um).toString());
+            assertEquals(bx.shiftLeft(shift).toString(16), ux.shiftLeft(shift).toString());
+            assertEquals(bx.shiftRight(shift).toString(16), ux.shiftRight(shift).toString());
+            assertEquals(bx.testBit(shift) ? 1 : 0, ux.getBit(shift));
+            assertEquals(bx.setBit(shift).toString(16), ux.setBit(1, shift).toString());
+            assertEquals(bx.clearBit(shift).toString(16), ux.setBit(0, shift).toString());
+            assertEquals(Math.max(bx.bitLength() - 1, 0), ux.bitLength());
+        }
+    }
+
+    @Test
+    public void mixedArithmeticTest() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            BigInteger bx = new BigInteger(LEN, ThreadLocalRandom.current());
+            BigInteger by = smallNumber().add(BigInteger.ONE);
+            BigInteger bm = smallNumber().add(BigInteger.ONE);
+            BigInteger be = new BigInteger(LEN / 4, ThreadLocalRandom.current());
+
+            UnsignedInt ux = UnsignedInt.valueOf(bx.toString(16));
+            UnsignedInt uy = UnsignedInt.valueOf(by.toString(16));
+            UnsignedInt um = UnsignedInt.valueOf(bm.toString(16));
+            UnsignedInt ue = UnsignedInt.valueOf(be.toString(16));
+
+            assertEquals(bx.add(by).toString(16), ux.add(uy).toString());
+            assertEquals(bx.subtract(by).toString(16), ux.subtract(uy).toString());
+            assertEquals(bx.multiply(by).toString(16), ux.multiply(uy).toString());
+            assertEquals(by.multiply(bx).toString(16), uy.multiply(ux).toString());
+            assertEquals(bx.multiply(by).mod(bm).toString(16), ux.multiply(uy, um).toString());
+            assertEquals(bx.mod(bm).toString(16), ux.mod(um).toString());
+            assertEquals(bx.gcd(by).toString(16), ux.gcd(uy).toString());
+            assertEquals(by.gcd(bx).toString(16), uy.gcd(ux).toString());
+            assertEquals(bx.modPow(be, bm).toString(16), ux.pow(ue, um).toString());
+            assertEquals(bx.subtract(bx.subtract(by)).toString(16), ux.subtract(ux.subtract(uy)).toString());
+        }
+    }
+
+    @Test
+    public void compactRepresentationTest() {
+        UnsignedInt max = UnsignedInt.valueOf(Long.toHexString(Long.MAX_VALUE));
+        UnsignedInt limb = max.add(UnsignedInt.ONE);
+
+        assertTrue(max.fitsInLong());
+        assertEquals(Long.MAX_VALUE, max.longValue());
+        assertFalse(limb.fitsInLong());
+        assertEquals("8000000000000000", limb.toString());
+        assertEquals(max, limb.subtract(UnsignedInt.ONE));
+        assertEquals(max.hashCode(), limb.subtract(UnsignedInt.ONE).hashCode());
+        assertTrue(max.compareTo(limb) < 0);
+        assertTrue(limb.compareTo(max) > 0);
+        assertEquals(UnsignedInt.ZERO, UnsignedInt.valueOf(new int[] {0, 0, 0}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void longValueOverflowTest() {
+        UnsignedInt.valueOf("8000000000000000").longValue();
+    }
+
+    private static BigInteger smallNumber() {
+        return new BigInteger(ThreadLocalRandom.current().nextInt(1, 64), ThreadLocalRandom.current());
+    }
+
+    private static byte[] bufferBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.limit()];
+        buffer.rewind();
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,144 @@
+package dev.flanker.asym;
+
+import dev.flanker.alg.UnsignedInt;
+import dev.flanker.asym.domain.RabinCiphertext;
+import dev.flanker.asym.domain.RabinParameters;
+import dev.flanker.rand.BbsRandom;
+import dev.flanker.rand.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class KeyPairPoolTest {
+    private static final UnsignedInt P = UnsignedInt.valueOf("D5BBB96D30086EC484EBA3D7F9CAEB07".toLowerCase());
+    private static final UnsignedInt Q = UnsignedInt.valueOf("425D2B9BFDB25B9CF6C416CC6E37B59C1F".toLowerCase());
+
+    private static final Supplier<Random> RANDOMS = () -> BbsRandom.create(P, Q, UnsignedInt.random(256));
+
+    private static final int BIT_LENGTH = 256;
+    private static final int CAPACITY = 4;
+    private static final long TIMEOUT = 60_000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void refillTest() throws InterruptedException {
+        try (KeyPairPool pool = KeyPairPool.create(RANDOMS, CAPACITY, 2, 2)) {
+            pool.prepare(BIT_LENGTH);
+            awaitSize(pool, CAPACITY);
+
+            RabinParameters parameters = pool.take(BIT_LENGTH);
+            assertEquals(1, pool.hits());
+            assertEquals(0, pool.misses());
+            assertUsable(parameters);
+
+            pool.take(BIT_LENGTH);
+            pool.take(BIT_LENGTH);
+            awaitSize(pool, CAPACITY);
+            assertTrue(pool.refills() >= CAPACITY + 2);
+            assertTrue(pool.refillNanos() > 0);
+        }
+    }
+
+    @Test
+    public void missTest() {
+        try (KeyPairPool pool = KeyPairPool.create(RANDOMS, CAPACITY, 2, 1)) {
+            assertUsable(pool.take(BIT_LENGTH));
+            assertEquals(0, pool.hits());
+            assertEquals(1, pool.misses());
+        }
+    }
+
+    @Test
+    public void persistenceTest() throws Exception {
+        Path path = folder.getRoot().toPath().resolve("pool.bin");
+
+        try (KeyPairPool pool = KeyPairPool.create(RANDOMS, CAPACITY, 0, 2)) {
+            pool.prepare(BIT_LENGTH);
+            awaitSize(pool, CAPACITY);
+            assertEquals(CAPACITY, pool.drainTo(path));
+            assertEquals(0, pool.size(BIT_LENGTH));
+        }
+
+        try (KeyPairPool pool = KeyPairPool.create(RANDOMS, CAPACITY, 0, 1)) {
+            assertEquals(CAPACITY, pool.restoreFrom(path));
+            assertFalse(Files.exists(path));
+            assertEquals(CAPACITY, pool.size(BIT_LENGTH));
+
+            assertUsable(pool.take(BIT_LENGTH));
+            assertEquals(1, pool.hits());
+        }
+    }
+
+    @Test
+    public void truncatedFileTest() throws Exception {
+        Path path = folder.getRoot().toPath().resolve("pool.bin");
+        try (KeyPairPool pool = KeyPairPool.create(RANDOMS, CAPACITY, 0, 1)) {
+            pool.prepare(BIT_LENGTH);
+            awaitSize(pool, CAPACITY);
+            assertEquals(CAPACITY, pool.drainTo(path));
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+
+        try (KeyPairPool pool = KeyPairPool.create(RANDOMS, CAPACITY, 0, 1)) {
+            try {
+                pool.restoreFrom(path);
+                fail("Truncated file was restored");
+            } catch (EOFException e) {
+                // Nothing may be offered from a file that did not read completely
+            }
+            assertEquals(0, pool.size(BIT_LENGTH));
+        }
+    }
+
+    @Test
+    public void corruptedLengthTest() throws Exception {
+        Path path = folder.getRoot().toPath().resolve("pool.bin");
+        try (KeyPairPool pool = KeyPairPool.create(RANDOMS, CAPACITY, 0, 1)) {
+            pool.prepare(BIT_LENGTH);
+            awaitSize(pool, CAPACITY);
+            assertEquals(CAPACITY, pool.drainTo(path));
+        }
+        // Length prefix of the first number, after the magic, the record count and the bit length
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[12] = (byte) 0xff;
+        bytes[13] = (byte) 0xff;
+        Files.write(path, bytes);
+
+        try (KeyPairPool pool = KeyPairPool.create(RANDOMS, CAPACITY, 0, 1)) {
+            try {
+                pool.restoreFrom(path);
+                fail("Corrupted file was restored");
+            } catch (IOException e) {
+                assertEquals("Corrupted key pool file", e.getMessage());
+            }
+            assertEquals(0, pool.size(BIT_LENGTH));
+        }
+    }
+
+    private static void assertUsable(RabinParameters parameters) {
+        RabinCryptosystem cryptosystem = new RabinCryptosystem(RANDOMS.get());
+        UnsignedInt m = UnsignedInt.random(32);
+        RabinCiphertext ciphertext = cryptosystem.encrypt(m, parameters.getPublicKey());
+        assertEquals(m, cryptosystem.decrypt(ciphertext, parameters.getPrivateKey()));
+    }
+
+    private static void awaitSize(KeyPairPool pool, int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (pool.size(BIT_LENGTH) < size) {
+            assertTrue("Pool was not refilled in time", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
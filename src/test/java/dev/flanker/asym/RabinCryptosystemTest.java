@@ -1,13 +1,18 @@
 package dev.flanker.asym;
 
 import dev.flanker.alg.UnsignedInt;
+import dev.flanker.asym.domain.OffHeapKeyContext;
 import dev.flanker.asym.domain.RabinCiphertext;
 import dev.flanker.asym.domain.RabinParameters;
+import dev.flanker.asym.domain.RabinPrivateKey;
+import dev.flanker.asym.domain.RabinWilliamsSignature;
 import dev.flanker.rand.BbsRandom;
 import dev.flanker.rand.Random;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static org.junit.Assert.*;
@@ -34,6 +39,27 @@ public class RabinCryptosystemTest {
         }
     }
 
+    @Test
+    public void invalidFlagsTest() {
+        RabinParameters parameters = CRYPTOSYSTEM.generateKeys(512);
+        RabinCiphertext ciphertext = CRYPTOSYSTEM.encrypt(UnsignedInt.random(128), parameters.getPublicKey());
+
+        RabinCiphertext badC1 = RabinCiphertext.of(ciphertext.getY(), UnsignedInt.TWO, ciphertext.getC2());
+        RabinCiphertext badC2 = RabinCiphertext.of(ciphertext.getY(), ciphertext.getC1(), UnsignedInt.valueOf(5));
+        assertNull(CRYPTOSYSTEM.decrypt(badC1, parameters.getPrivateKey()));
+        assertNull(CRYPTOSYSTEM.decrypt(badC2, parameters.getPrivateKey()));
+    }
+
+    @Test
+    public void serializationTest() {
+        RabinParameters parameters = CRYPTOSYSTEM.generateKeys(512);
+        UnsignedInt m = UnsignedInt.random(128);
+
+        RabinCiphertext ciphertext = RabinCiphertext.of(CRYPTOSYSTEM.encrypt(m, parameters.getPublicKey()).serialize());
+
+        assertEquals(m, CRYPTOSYSTEM.decrypt(ciphertext, parameters.getPrivateKey()));
+    }
+
     @Test
     public void signatureTest() {
         for (int i = 0; i < ITERATIONS; i++) {
@@ -52,4 +78,80 @@ public class RabinCryptosystemTest {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    public void williamsSignatureTest() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            RabinParameters parameters = CRYPTOSYSTEM.generateKeys(512);
+            UnsignedInt m = UnsignedInt.random(128);
+
+            RabinWilliamsSignature signature = CRYPTOSYSTEM.signWilliams(m, parameters.getPrivateKey());
+            RabinWilliamsSignature repeated = CRYPTOSYSTEM.signWilliams(m, parameters.getPrivateKey());
+
+            assertEquals(signature.getS(), repeated.getS());
+            assertTrue(CRYPTOSYSTEM.verify(m, signature, parameters.getPublicKey()));
+            assertTrue(CRYPTOSYSTEM.verify(m, RabinWilliamsSignature.of(signature.serialize()), parameters.getPublicKey()));
+            assertFalse(CRYPTOSYSTEM.verify(m.add(UnsignedInt.ONE), signature, parameters.getPublicKey()));
+
+            RabinWilliamsSignature tweaked = RabinWilliamsSignature.of(signature.getS(), -signature.getE(), signature.getF());
+            assertFalse(CRYPTOSYSTEM.verify(m, tweaked, parameters.getPublicKey()));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void williamsSignatureKeyTest() {
+        RabinPrivateKey privateKey = CRYPTOSYSTEM.generateKeys(512).getPrivateKey();
+        RabinPrivateKey swapped = RabinPrivateKey.of(privateKey.getQ(), privateKey.getP(), privateKey.getB());
+
+        CRYPTOSYSTEM.signWilliams(UnsignedInt.random(128), swapped);
+    }
+
+    @Test
+    public void concurrentHalvesTest() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            RabinCryptosystem cryptosystem = new RabinCryptosystem(GENERATOR, executor);
+            for (int i = 0; i < ITERATIONS / 2; i++) {
+                RabinParameters parameters = CRYPTOSYSTEM.generateKeys(512);
+                UnsignedInt m = UnsignedInt.random(128);
+
+                RabinCiphertext ciphertext = cryptosystem.encrypt(m, parameters.getPublicKey());
+                assertEquals(m, cryptosystem.decrypt(ciphertext, parameters.getPrivateKey()));
+
+                UnsignedInt signature = cryptosystem.sign(m, parameters.getPrivateKey());
+                assertTrue(cryptosystem.verify(m, signature, parameters.getPublicKey()));
+
+                RabinWilliamsSignature williamsSignature = cryptosystem.signWilliams(m, parameters.getPrivateKey());
+                assertEquals(CRYPTOSYSTEM.signWilliams(m, parameters.getPrivateKey()).getS(), williamsSignature.getS());
+                assertTrue(cryptosystem.verify(m, williamsSignature, parameters.getPublicKey()));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void offHeapKeyTest() {
+        RabinParameters parameters = CRYPTOSYSTEM.generateKeys(512);
+        UnsignedInt m = UnsignedInt.random(128);
+
+        try (OffHeapKeyContext key = OffHeapKeyContext.of(parameters.getPrivateKey())) {
+            assertTrue(key.isWilliams());
+            assertEquals(parameters.getPublicKey().getN(), key.getPublicKey().getN());
+            // Recoded once when the key is stored, not on every operation
+            assertSame(key.getContext().getPExponent(), key.getContext().getPExponent());
+
+            RabinCiphertext ciphertext = CRYPTOSYSTEM.encrypt(m, parameters.getPublicKey());
+            assertEquals(m, CRYPTOSYSTEM.decrypt(ciphertext, key));
+            assertTrue(CRYPTOSYSTEM.verify(m, CRYPTOSYSTEM.sign(m, key), parameters.getPublicKey()));
+            assertTrue(CRYPTOSYSTEM.verify(m, CRYPTOSYSTEM.signWilliams(m, key), parameters.getPublicKey()));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void closedOffHeapKeyTest() {
+        OffHeapKeyContext key = OffHeapKeyContext.of(CRYPTOSYSTEM.generateKeys(512).getPrivateKey());
+        key.close();
+        assertTrue(key.isClosed());
+        key.getContext();
+    }
+}
@@ -0,0 +1,86 @@
+package dev.flanker.asym;
+
+import dev.flanker.alg.UnsignedInt;
+import dev.flanker.asym.domain.RabinParameters;
+import dev.flanker.rand.BbsRandom;
+import dev.flanker.rand.Random;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.*;
+
+public class RabinHybridCipherTest {
+    private static final UnsignedInt P = UnsignedInt.valueOf("D5BBB96D30086EC484EBA3D7F9CAEB07".toLowerCase());
+    private static final UnsignedInt Q = UnsignedInt.valueOf("425D2B9BFDB25B9CF6C416CC6E37B59C1F".toLowerCase());
+
+    private static final Random GENERATOR = BbsRandom.create(P, Q, UnsignedInt.random(256));
+    private static final RabinCryptosystem CRYPTOSYSTEM = new RabinCryptosystem(GENERATOR);
+    private static final RabinParameters PARAMETERS = CRYPTOSYSTEM.generateKeys(512);
+
+    private static final int CHUNK_LENGTH = 1024;
+
+    @Test
+    public void hybridTest() throws IOException {
+        for (RabinHybridCipher.Algorithm algorithm : RabinHybridCipher.Algorithm.values()) {
+            RabinHybridCipher cipher = new RabinHybridCipher(CRYPTOSYSTEM, algorithm, CHUNK_LENGTH);
+            for (int size : new int[] {0, 1, CHUNK_LENGTH, 5 * CHUNK_LENGTH, 5 * CHUNK_LENGTH + 3}) {
+                byte[] message = new byte[size];
+                ThreadLocalRandom.current().nextBytes(message);
+
+                assertArrayEquals(message, decrypt(cipher, encrypt(cipher, message)));
+            }
+        }
+    }
+
+    @Test
+    public void tamperedChunkTest() throws IOException {
+        RabinHybridCipher cipher = new RabinHybridCipher(CRYPTOSYSTEM, RabinHybridCipher.Algorithm.AES_GCM, CHUNK_LENGTH);
+        byte[] ciphertext = encrypt(cipher, new byte[3 * CHUNK_LENGTH]);
+        ciphertext[ciphertext.length - CHUNK_LENGTH] ^= 1;
+        try {
+            decrypt(cipher, ciphertext);
+            fail();
+        } catch (IOException e) {
+            assertEquals("Ciphertext chunk failed authentication", e.getMessage());
+        }
+    }
+
+    @Test
+    public void droppedFinalChunkTest() throws IOException {
+        RabinHybridCipher cipher = new RabinHybridCipher(CRYPTOSYSTEM, RabinHybridCipher.Algorithm.CHACHA20_POLY1305, CHUNK_LENGTH);
+        byte[] ciphertext = encrypt(cipher, new byte[2 * CHUNK_LENGTH]);
+        try {
+            decrypt(cipher, Arrays.copyOf(ciphertext, ciphertext.length - 16));
+            fail();
+        } catch (EOFException e) {
+            assertEquals("Truncated ciphertext chunk", e.getMessage());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedChunkTest() throws IOException {
+        RabinHybridCipher cipher = new RabinHybridCipher(CRYPTOSYSTEM, RabinHybridCipher.Algorithm.AES_GCM, CHUNK_LENGTH);
+        byte[] ciphertext = encrypt(cipher, new byte[3 * CHUNK_LENGTH]);
+        decrypt(cipher, Arrays.copyOf(ciphertext, ciphertext.length - CHUNK_LENGTH));
+    }
+
+    private static byte[] encrypt(RabinHybridCipher cipher, byte[] message) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long length = cipher.encrypt(new ByteArrayInputStream(message), Channels.newChannel(out), PARAMETERS.getPublicKey());
+        assertEquals(message.length, length);
+        return out.toByteArray();
+    }
+
+    private static byte[] decrypt(RabinHybridCipher cipher, byte[] ciphertext) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cipher.decrypt(new ByteArrayInputStream(ciphertext), out, PARAMETERS.getPrivateKey());
+        return out.toByteArray();
+    }
+}
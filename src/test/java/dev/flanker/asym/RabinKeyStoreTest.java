@@ -0,0 +1,144 @@
+package dev.flanker.asym;
+
+import dev.flanker.alg.UnsignedInt;
+import dev.flanker.asym.domain.RabinCiphertext;
+import dev.flanker.asym.domain.RabinKeyContext;
+import dev.flanker.asym.domain.RabinParameters;
+import dev.flanker.asym.domain.RabinPrivateKey;
+import dev.flanker.asym.domain.RabinPublicKey;
+import dev.flanker.rand.BbsRandom;
+import dev.flanker.rand.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class RabinKeyStoreTest {
+    private static final UnsignedInt P = UnsignedInt.valueOf("D5BBB96D30086EC484EBA3D7F9CAEB07".toLowerCase());
+    private static final UnsignedInt Q = UnsignedInt.valueOf("425D2B9BFDB25B9CF6C416CC6E37B59C1F".toLowerCase());
+
+    private static final Random GENERATOR = BbsRandom.create(P, Q, UnsignedInt.random(256));
+    private static final RabinCryptosystem CRYPTOSYSTEM = new RabinCryptosystem(GENERATOR);
+
+    private static final int KEYS = 64;
+    private static final int NUMBER_LENGTH = 64;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void persistenceTest() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("keys.store");
+
+        try (RabinKeyStore store = RabinKeyStore.create(path, NUMBER_LENGTH, 2 * KEYS, 4)) {
+            for (int i = 0; i < KEYS; i++) {
+                store.put(i * 31L, RabinPrivateKey.of(P, Q, UnsignedInt.valueOf(i)));
+            }
+            assertEquals(KEYS, store.size());
+        }
+
+        try (RabinKeyStore store = RabinKeyStore.open(path, 4)) {
+            assertEquals(KEYS, store.size());
+            for (int i = 0; i < KEYS; i++) {
+                RabinPrivateKey privateKey = store.getPrivateKey(i * 31L);
+                assertEquals(P, privateKey.getP());
+                assertEquals(Q, privateKey.getQ());
+                assertEquals(UnsignedInt.valueOf(i), privateKey.getB());
+
+                RabinPublicKey publicKey = store.getPublicKey(i * 31L);
+                assertEquals(P.multiply(Q), publicKey.getN());
+                assertEquals(UnsignedInt.valueOf(i), publicKey.getB());
+            }
+            assertFalse(store.contains(1));
+            assertNull(store.getPrivateKey(1));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void corruptedHeaderTest() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("keys.store");
+        try (RabinKeyStore store = RabinKeyStore.create(path, NUMBER_LENGTH, KEYS, 4)) {
+            assertEquals(0, store.size());
+        }
+        // A zero capacity matches a header-only file, the size check alone lets it through
+        ByteBuffer header = ByteBuffer.wrap(Arrays.copyOf(Files.readAllBytes(path), 64));
+        header.putInt(12, 0);
+        Files.write(path, header.array());
+
+        RabinKeyStore.open(path, 4).close();
+    }
+
+    @Test
+    public void overwriteTest() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("keys.store");
+
+        try (RabinKeyStore store = RabinKeyStore.create(path, NUMBER_LENGTH, 1, 1)) {
+            store.put(7, RabinPrivateKey.of(P, Q, UnsignedInt.ONE));
+            store.put(7, RabinPrivateKey.of(P, Q, UnsignedInt.TWO));
+
+            assertEquals(1, store.size());
+            assertEquals(UnsignedInt.TWO, store.getPrivateKey(7).getB());
+            assertEquals(UnsignedInt.TWO, store.getContext(7).getB());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void fullStoreTest() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("keys.store");
+
+        try (RabinKeyStore store = RabinKeyStore.create(path, NUMBER_LENGTH, 1, 1)) {
+            store.put(1, RabinPrivateKey.of(P, Q, UnsignedInt.ONE));
+            store.put(2, RabinPrivateKey.of(P, Q, UnsignedInt.ONE));
+        }
+    }
+
+    @Test
+    public void contextTest() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("keys.store");
+        RabinParameters parameters = CRYPTOSYSTEM.generateKeys(512);
+
+        try (RabinKeyStore store = RabinKeyStore.create(path, NUMBER_LENGTH, 16, 1)) {
+            store.put(42, parameters.getPrivateKey());
+
+            RabinKeyContext context = store.getContext(42);
+            assertSame(context, store.getContext(42));
+
+            UnsignedInt m = UnsignedInt.random(64);
+            RabinCiphertext ciphertext = CRYPTOSYSTEM.encrypt(m, store.getPublicKey(42));
+            assertEquals(m, CRYPTOSYSTEM.decrypt(ciphertext, context));
+        }
+    }
+
+    @Test
+    public void overwriteWhileReadingTest() throws Exception {
+        Path path = folder.getRoot().toPath().resolve("keys.store");
+
+        try (RabinKeyStore store = RabinKeyStore.create(path, NUMBER_LENGTH, 16, 4)) {
+            store.put(7, RabinPrivateKey.of(P, Q, UnsignedInt.ZERO));
+
+            AtomicBoolean done = new AtomicBoolean();
+            Thread reader = new Thread(() -> {
+                while (!done.get()) {
+                    store.getContext(7);
+                }
+            });
+            reader.start();
+            for (int i = 1; i <= 256; i++) {
+                store.put(7, RabinPrivateKey.of(P, Q, UnsignedInt.valueOf(i)));
+            }
+            done.set(true);
+            reader.join();
+
+            // A context built from a replaced key must never outlive the put that replaced it
+            assertEquals(UnsignedInt.valueOf(256), store.getContext(7).getB());
+        }
+    }
+}
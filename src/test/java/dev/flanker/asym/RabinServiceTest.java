@@ -0,0 +1,77 @@
+package dev.flanker.asym;
+
+import dev.flanker.alg.UnsignedInt;
+import dev.flanker.asym.domain.RabinCiphertext;
+import dev.flanker.asym.domain.RabinParameters;
+import dev.flanker.rand.BbsRandom;
+import dev.flanker.rand.Random;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class RabinServiceTest {
+    private static final UnsignedInt P = UnsignedInt.valueOf("D5BBB96D30086EC484EBA3D7F9CAEB07".toLowerCase());
+    private static final UnsignedInt Q = UnsignedInt.valueOf("425D2B9BFDB25B9CF6C416CC6E37B59C1F".toLowerCase());
+
+    private static final Supplier<Random> RANDOMS = () -> BbsRandom.create(P, Q, UnsignedInt.random(256));
+    private static final RabinParameters PARAMETERS = new RabinCryptosystem(RANDOMS.get()).generateKeys(512);
+
+    private static final int ITERATIONS = 8;
+
+    @Test
+    public void encryptionTest() throws Exception {
+        try (RabinService service = RabinService.forkJoin(RANDOMS, 2, ITERATIONS, 4)) {
+            List<UnsignedInt> messages = new ArrayList<>();
+            List<CompletableFuture<UnsignedInt>> results = new ArrayList<>();
+            for (int i = 0; i < ITERATIONS / 2; i++) {
+                UnsignedInt m = UnsignedInt.random(128);
+                messages.add(m);
+                results.add(service.encrypt(m, PARAMETERS.getPublicKey())
+                        .thenCompose(c -> service.decrypt(c, PARAMETERS.getPrivateKey())));
+            }
+            for (int i = 0; i < messages.size(); i++) {
+                assertEquals(messages.get(i), results.get(i).get());
+            }
+        }
+    }
+
+    @Test
+    public void signatureTest() throws Exception {
+        try (RabinService service = RabinService.forkJoin(RANDOMS, 2, ITERATIONS, 4)) {
+            UnsignedInt m = UnsignedInt.random(128);
+            boolean verified = service.sign(m, PARAMETERS.getPrivateKey())
+                    .thenCompose(s -> service.verify(m, s, PARAMETERS.getPublicKey()))
+                    .get();
+            assertTrue(verified);
+        }
+    }
+
+    @Test
+    public void backpressureTest() throws InterruptedException {
+        try (RabinService service = RabinService.forkJoin(RANDOMS, 1, 1, 1)) {
+            List<CompletableFuture<RabinCiphertext>> results = new ArrayList<>();
+            for (int i = 0; i < ITERATIONS; i++) {
+                results.add(service.encrypt(UnsignedInt.random(128), PARAMETERS.getPublicKey()));
+            }
+
+            int rejected = 0;
+            for (CompletableFuture<RabinCiphertext> result : results) {
+                try {
+                    assertNotNull(result.get());
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof RejectedExecutionException);
+                    rejected++;
+                }
+            }
+            assertTrue(rejected > 0);
+            assertEquals(1, service.availableCapacity());
+        }
+    }
+}
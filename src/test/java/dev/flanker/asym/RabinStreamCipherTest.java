@@ -0,0 +1,67 @@
+package dev.flanker.asym;
+
+import dev.flanker.alg.UnsignedInt;
+import dev.flanker.asym.domain.RabinParameters;
+import dev.flanker.rand.BbsRandom;
+import dev.flanker.rand.Random;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.*;
+
+public class RabinStreamCipherTest {
+    private static final UnsignedInt P = UnsignedInt.valueOf("D5BBB96D30086EC484EBA3D7F9CAEB07".toLowerCase());
+    private static final UnsignedInt Q = UnsignedInt.valueOf("425D2B9BFDB25B9CF6C416CC6E37B59C1F".toLowerCase());
+
+    private static final Random GENERATOR = BbsRandom.create(P, Q, UnsignedInt.random(256));
+    private static final RabinCryptosystem CRYPTOSYSTEM = new RabinCryptosystem(GENERATOR);
+    private static final RabinParameters PARAMETERS = CRYPTOSYSTEM.generateKeys(512);
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(4);
+    private static final RabinStreamCipher CIPHER = new RabinStreamCipher(CRYPTOSYSTEM, EXECUTOR, 8);
+
+    @AfterClass
+    public static void shutdown() {
+        EXECUTOR.shutdownNow();
+    }
+
+    @Test
+    public void streamTest() throws IOException {
+        int blockLength = RabinUtil.messageLength(PARAMETERS.getPublicKey().getN());
+        for (int size : new int[] {0, 1, blockLength, 5 * blockLength, 5 * blockLength + 3}) {
+            byte[] message = new byte[size];
+            ThreadLocalRandom.current().nextBytes(message);
+
+            assertArrayEquals(message, decrypt(encrypt(message)));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedStreamTest() throws IOException {
+        byte[] ciphertext = encrypt(new byte[64]);
+        byte[] truncated = new byte[ciphertext.length - 1];
+        System.arraycopy(ciphertext, 0, truncated, 0, truncated.length);
+        decrypt(truncated);
+    }
+
+    private static byte[] encrypt(byte[] message) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long length = CIPHER.encrypt(new ByteArrayInputStream(message), Channels.newChannel(out), PARAMETERS.getPublicKey());
+        assertEquals(message.length, length);
+        return out.toByteArray();
+    }
+
+    private static byte[] decrypt(byte[] ciphertext) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CIPHER.decrypt(new ByteArrayInputStream(ciphertext), out, PARAMETERS.getPrivateKey());
+        return out.toByteArray();
+    }
+}
@@ -46,4 +46,15 @@ public class RabinUtilTest {
         }
     }
 
+    @Test
+    public void primitiveJacobiTest() {
+        // (2/7) = 1, (3/7) = -1, (5/21) = 1, (6/21) = 0, (1001/9907) = -1
+        assertEquals(1, RabinUtil.jacobiSymbol(2, 7));
+        assertEquals(-1, RabinUtil.jacobiSymbol(3, 7));
+        assertEquals(1, RabinUtil.jacobiSymbol(5, 21));
+        assertEquals(0, RabinUtil.jacobiSymbol(6, 21));
+        assertEquals(-1, RabinUtil.jacobiSymbol(1001, 9907));
+        assertEquals(-1, RabinUtil.jacobiSymbol(UnsignedInt.valueOf(1001), UnsignedInt.valueOf(9907)));
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package dev.flanker.metrics;
+
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class LongAdderRecorderTest {
+    private static final int THREADS = 4;
+    private static final int ITERATIONS = 10_000;
+
+    @Test
+    public void concurrentCounterTest() throws InterruptedException {
+        LongAdderRecorder recorder = new LongAdderRecorder();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < ITERATIONS; j++) {
+                    recorder.increment(Counter.MULTIPLY, 1);
+                    recorder.increment(Counter.RANDOM_BYTES, 4);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        assertEquals(THREADS * ITERATIONS, recorder.count(Counter.MULTIPLY));
+        assertEquals(4L * THREADS * ITERATIONS, recorder.count(Counter.RANDOM_BYTES));
+        assertEquals(0, recorder.count(Counter.POW));
+    }
+
+    @Test
+    public void timerTest() {
+        LongAdderRecorder recorder = new LongAdderRecorder();
+        recorder.record(Timer.SIGN, 10);
+        recorder.record(Timer.SIGN, 30);
+
+        assertEquals(2, recorder.count(Timer.SIGN));
+        assertEquals(40, recorder.totalNanos(Timer.SIGN));
+        assertEquals(30, recorder.maxNanos(Timer.SIGN));
+
+        recorder.reset();
+        assertEquals(0, recorder.count(Timer.SIGN));
+        assertEquals(0, recorder.maxNanos(Timer.SIGN));
+    }
+
+    @Test
+    public void mbeanTest() throws Exception {
+        LongAdderRecorder recorder = new LongAdderRecorder();
+        MetricsRecorder previous = Metrics.getRecorder();
+        Metrics.setRecorder(recorder);
+        try {
+            ObjectName name = Metrics.registerMBean();
+            recorder.increment(Counter.INVERSE, 3);
+
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            TabularData counters = (TabularData) server.getAttribute(name, "Counters");
+            CompositeData inverse = counters.get(new Object[] {Counter.INVERSE.name()});
+            assertEquals(3L, inverse.get("value"));
+
+            server.unregisterMBean(name);
+        } finally {
+            Metrics.setRecorder(previous);
+        }
+    }
+}
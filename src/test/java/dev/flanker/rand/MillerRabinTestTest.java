@@ -4,12 +4,14 @@ import dev.flanker.alg.UnsignedInt;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static org.junit.Assert.*;
 
 public class MillerRabinTestTest {
     private static final int ITERATIONS = 2048;
+    private static final int PARALLEL_ITERATIONS = 256;
 
     @Test
     public void primeTest() {
@@ -22,4 +24,25 @@ public class MillerRabinTestTest {
             ui = ui.add(UnsignedInt.TWO);
         }
     }
+
+    @Test
+    public void parallelPrimeTest() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BigInteger bi = new BigInteger(128, ThreadLocalRandom.current()).setBit(0);
+            UnsignedInt ui = UnsignedInt.valueOf(bi.toString(16));
+
+            for (int i = 0; i < PARALLEL_ITERATIONS; i++) {
+                assertEquals(bi.isProbablePrime(32), MillerRabinTest.isPrime(ui, pool));
+                bi = bi.add(BigInteger.TWO);
+                ui = ui.add(UnsignedInt.TWO);
+            }
+
+            BigInteger prime = BigInteger.probablePrime(256, ThreadLocalRandom.current());
+            assertTrue(MillerRabinTest.isPrime(UnsignedInt.valueOf(prime.toString(16)), pool));
+            assertFalse(MillerRabinTest.isPrime(UnsignedInt.valueOf(prime.multiply(prime).toString(16)), pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
\ No newline at end of file
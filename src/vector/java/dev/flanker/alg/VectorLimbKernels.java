@@ -0,0 +1,90 @@
+package dev.flanker.alg;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+final class VectorLimbKernels implements LimbKernels {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final int MIN_LANES = 4;
+
+    private static final int BASE = Integer.SIZE;
+
+    private final ScalarLimbKernels scalar = new ScalarLimbKernels();
+
+    VectorLimbKernels() {
+        if (LANES < MIN_LANES) {
+            throw new UnsupportedOperationException("Vector width is too small: " + LANES);
+        }
+    }
+
+    @Override
+    public boolean isZero(int[] x, int length) {
+        int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += LANES) {
+            if (IntVector.fromArray(SPECIES, x, i).compare(VectorOperators.NE, 0).anyTrue()) {
+                return false;
+            }
+        }
+        for (; i < length; i++) {
+            if (x[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int compare(int[] x, int[] y, int length) {
+        int bound = SPECIES.loopBound(length);
+        for (int i = length - 1; i >= bound; i--) {
+            if (x[i] != y[i]) {
+                return Integer.compareUnsigned(x[i], y[i]);
+            }
+        }
+        for (int i = bound - LANES; i >= 0; i -= LANES) {
+            VectorMask<Integer> different = IntVector.fromArray(SPECIES, x, i)
+                    .compare(VectorOperators.NE, IntVector.fromArray(SPECIES, y, i));
+            if (different.anyTrue()) {
+                int position = i + different.lastTrue();
+                return Integer.compareUnsigned(x[position], y[position]);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public void shiftLeft(int[] x, int length, int blockShift, int bitShift) {
+        // Top-down: every chunk reads only limbs at or below itself, loaded before the store
+        int i = length - LANES;
+        for (; i - blockShift - 1 >= 0; i -= LANES) {
+            IntVector high = IntVector.fromArray(SPECIES, x, i - blockShift);
+            IntVector low = IntVector.fromArray(SPECIES, x, i - blockShift - 1);
+            high.lanewise(VectorOperators.LSHL, bitShift)
+                    .or(low.lanewise(VectorOperators.LSHR, BASE - bitShift))
+                    .intoArray(x, i);
+        }
+        scalar.shiftLeft(x, i + LANES, blockShift, bitShift);
+    }
+
+    @Override
+    public void shiftRight(int[] x, int length, int blockShift, int bitShift) {
+        // Bottom-up: every chunk reads only limbs at or above itself, loaded before the store
+        int i = 0;
+        for (; i + blockShift + 1 + LANES <= length; i += LANES) {
+            IntVector low = IntVector.fromArray(SPECIES, x, i + blockShift);
+            IntVector high = IntVector.fromArray(SPECIES, x, i + blockShift + 1);
+            low.lanewise(VectorOperators.LSHR, bitShift)
+                    .or(high.lanewise(VectorOperators.LSHL, BASE - bitShift))
+                    .intoArray(x, i);
+        }
+        for (; i < length; i++) {
+            int firstBlock = i + blockShift < length ? x[i + blockShift] : 0;
+            int secondBlock = i + blockShift + 1 < length ? x[i + blockShift + 1] : 0;
+            x[i] = (firstBlock >>> bitShift) | (secondBlock << (BASE - bitShift));
+        }
+    }
+}